@@ -0,0 +1,56 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQType;
+
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Computes shortest paths using A* search: Dijkstra's algorithm with each vertex's priority
+ * raised by a heuristic estimate of its remaining distance to the end.
+ *
+ * The heuristic must never overestimate the true remaining distance (i.e., it must be
+ * admissible), or the returned paths may not be shortest. Consistent heuristics additionally
+ * guarantee that no vertex is expanded more than once.
+ *
+ * @see SPTShortestPathFinder for more documentation.
+ */
+public class AStarShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
+    extends DijkstraShortestPathFinder<G, V, E> {
+    private final ToDoubleBiFunction<V, V> heuristic;
+
+    /**
+     * Constructs a new finder using the given heuristic.
+     *
+     * @param heuristic given (vertex, end), returns a lower bound on the distance between them
+     */
+    public AStarShortestPathFinder(ToDoubleBiFunction<V, V> heuristic) {
+        this(heuristic, MinPQType.DOUBLE_MAP);
+    }
+
+    public AStarShortestPathFinder(ToDoubleBiFunction<V, V> heuristic, MinPQType minPQType) {
+        super(minPQType);
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Heuristic must not be null");
+        }
+        if (minPQType == MinPQType.MONOTONE_INTEGER) {
+            // heuristic priorities are generally not integers
+            throw new IllegalArgumentException("A* can't use monotone integer priority queues");
+        }
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    protected double estimateRemaining(V vertex, V end) {
+        // with no end vertex we're building a full tree, which needs plain Dijkstra ordering
+        return end == null ? 0.0 : heuristic.applyAsDouble(vertex, end);
+    }
+
+    @Override
+    protected <T> ExtrinsicMinPQ<T> createMinPQ(G graph) {
+        // never sized to the graph's weight bound; see the constructor
+        return createMinPQ();
+    }
+}
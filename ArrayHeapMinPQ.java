@@ -1,5 +1,9 @@
 package priorityqueues;
 
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.Metrics;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -7,20 +11,52 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
+ * A d-ary array heap. The default is a binary heap; wider heaps (e.g. 4-ary or 8-ary) are
+ * shallower and keep each node's children on fewer cache lines, at the cost of more comparisons
+ * per level on the way down.
+ *
  * @see ExtrinsicMinPQ
  */
 public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
     // IMPORTANT: Do not rename these fields or change their visibility.
     // We access these during grading to test your code.
     static final int START_INDEX = 0;
+    private static final int DEFAULT_ARITY = 2;
+    private static final Counter SWAPS = Metrics.counter("ArrayHeapMinPQ.swaps");
+    // number of levels a node moves in one sift, up or down
+    private static final Histogram SIFT_DEPTH = Metrics.histogram("ArrayHeapMinPQ.siftDepth");
     List<PriorityNode<T>> items;
     private Map<T, Integer> itemIndexes;
+    private final int arity;
 
     public ArrayHeapMinPQ() {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs a new heap in which every node has up to {@code arity} children.
+     *
+     * @param arity the number of children per node. Must be >= 2.
+     */
+    public ArrayHeapMinPQ(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Heap arity must be at least 2");
+        }
+        this.arity = arity;
         items = new ArrayList<>();
         itemIndexes = new HashMap<>();
     }
 
+    // index of the parent of the node at the given index
+    private int parent(int index) {
+        return (index - 1) / arity;
+    }
+
+    // index of the first child of the node at the given index
+    private int firstChild(int index) {
+        return arity * index + 1;
+    }
+
     // Here's a method stub that may be useful. Feel free to change or remove it, if you wish.
     // You'll probably want to add more helper methods like this one to make your code easier to read.
 
@@ -33,6 +69,9 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         items.set(b, temp);
         itemIndexes.put(items.get(a).getItem(), a);
         itemIndexes.put(items.get(b).getItem(), b);
+        if (Metrics.ENABLED) {
+            SWAPS.increment();
+        }
     }
 
     // Adds an item with the given priority value.
@@ -47,10 +86,7 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         items.add(newNode);
         int index = items.size() - 1;
         itemIndexes.put(item, index);
-        while (index > START_INDEX && items.get((index - 1) / 2).getPriority() > items.get(index).getPriority()) {
-            swap(index, (index - 1) / 2);
-            index = (index - 1) / 2;
-        }
+        siftUp(index);
     }
 
     // Returns true if the PQ contains the given item; false otherwise.
@@ -86,16 +122,38 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
 
     // restores the heap after a removal or a priority change
     private void checkHeap(int index) {
-        while (2 * index + 1 < items.size()) {
-            int j = 2 * index + 1; // Left child
-            if (j < items.size() - 1 && items.get(j).getPriority() > items.get(j + 1).getPriority()) {
-                j++; // Right child is smaller
+        int depth = 0;
+        while (firstChild(index) < items.size()) {
+            int first = firstChild(index);
+            int last = Math.min(first + arity, items.size());
+            int j = first;
+            for (int k = first + 1; k < last; k++) {
+                if (items.get(k).getPriority() < items.get(j).getPriority()) {
+                    j = k; // smallest child so far
+                }
             }
             if (items.get(index).getPriority() <= items.get(j).getPriority()) {
                 break;
             }
             swap(index, j);
             index = j;
+            depth++;
+        }
+        if (Metrics.ENABLED) {
+            SIFT_DEPTH.record(depth);
+        }
+    }
+
+    // moves the node at the given index up until its parent is no larger
+    private void siftUp(int index) {
+        int depth = 0;
+        while (index > START_INDEX && items.get(parent(index)).getPriority() > items.get(index).getPriority()) {
+            swap(index, parent(index));
+            index = parent(index);
+            depth++;
+        }
+        if (Metrics.ENABLED) {
+            SIFT_DEPTH.record(depth);
         }
     }
 
@@ -110,10 +168,7 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         double oldPriority = node.getPriority();
         node.setPriority(priority);
         if (priority < oldPriority) {
-            while (index > START_INDEX && items.get((index - 1) / 2).getPriority() > items.get(index).getPriority()) {
-                swap(index, (index - 1) / 2);
-                index = (index - 1) / 2;
-            }
+            siftUp(index);
         } else {
             checkHeap(index);
         }
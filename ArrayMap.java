@@ -1,9 +1,17 @@
 package maps;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 
 /**
+ * A map backed by an array of entries that is searched linearly.
+ *
+ * Live entries are always packed into the first {@code size()} slots, so every scan stops at the
+ * last live entry; removal fills the hole with the last entry. The array doubles when full. A
+ * parallel array caches each key's hash code, which is compared before calling {@code equals}, so
+ * a scan rarely touches the entries or keys it doesn't want.
+ *
  * @see AbstractIterableMap
  * @see Map
  */
@@ -15,6 +23,8 @@ public class ArrayMap<K, V> extends AbstractIterableMap<K, V> {
     We will be inspecting it in our secret tests.
      */
     SimpleEntry<K, V>[] entries;
+    // fingerprints[i] is the hash code of entries[i]'s key, for i < numElements
+    private int[] fingerprints;
     private int numElements;
 
 
@@ -34,6 +44,7 @@ public class ArrayMap<K, V> extends AbstractIterableMap<K, V> {
      */
     public ArrayMap(int initialCapacity) {
         this.entries = this.createArrayOfEntries(initialCapacity);
+        this.fingerprints = new int[initialCapacity];
         this.numElements = 0;
     }
 
@@ -60,72 +71,73 @@ public class ArrayMap<K, V> extends AbstractIterableMap<K, V> {
         return (SimpleEntry<K, V>[]) (new SimpleEntry[arraySize]);
     }
 
-    @Override
-    public V get(Object key) {
+    // returns the index of the entry with the given key, or -1 if there is none
+    private int indexOf(Object key) {
         if (key != null) {
-            for (int i = 0; i < entries.length; i++) {
-                if (entries[i] != null && key.equals(entries[i].getKey())) {
-                    return entries[i].getValue();
+            int hash = key.hashCode();
+            for (int i = 0; i < numElements; i++) {
+                if (fingerprints[i] == hash && key.equals(entries[i].getKey())) {
+                    return i;
                 }
             }
         }
-        return null;
+        return -1;
+    }
+
+    @Override
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : entries[index].getValue();
     }
 
     @Override
     public V put(K key, V value) {
-        if (key != null) {
-            for (int i = 0; i < entries.length; i++) {
-                if (entries[i] == null) {
-                    entries[i] = new SimpleEntry<>(key, value);
-                    numElements++;
-                    return null;
-                } else if (key.equals(entries[i].getKey())) {
-                    V val = entries[i].getValue();
-                    entries[i] = new SimpleEntry<>(key, value);
-                    return val;
-                }
-            }
+        if (key == null) {
+            return null;
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            return entries[index].setValue(value);
         }
+        if (numElements == entries.length) {
+            // grow instead of dropping the entry
+            int newCapacity = Math.max(1, 2 * entries.length);
+            SimpleEntry<K, V>[] newEntries = createArrayOfEntries(newCapacity);
+            System.arraycopy(entries, 0, newEntries, 0, numElements);
+            entries = newEntries;
+            fingerprints = Arrays.copyOf(fingerprints, newCapacity);
+        }
+        entries[numElements] = new SimpleEntry<>(key, value);
+        fingerprints[numElements] = key.hashCode();
+        numElements++;
         return null;
     }
 
     @Override
     public V remove(Object key) {
-        for (int i = 0; i < entries.length; i++) {
-            if (entries[i] != null && key.equals(entries[i].getKey())) {
-                V value = entries[i].getValue();
-                if (i == entries.length - 1) {
-                    entries[i] = null;
-                } else {
-                    entries[i] = entries[entries.length - 1];
-                    entries[entries.length - 1] = null;
-                }
-                numElements--;
-                return value;
-            }
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
         }
-        return null;
+        V value = entries[index].getValue();
+        // move the last live entry into the hole, keeping the entries contiguous
+        int last = numElements - 1;
+        entries[index] = entries[last];
+        fingerprints[index] = fingerprints[last];
+        entries[last] = null;
+        numElements--;
+        return value;
     }
 
     @Override
     public void clear() {
-        for (int i = 0; i < entries.length; i++) {
-            entries[i] = null;
-        }
+        Arrays.fill(entries, 0, numElements, null);
         numElements = 0;
     }
 
     @Override
     public boolean containsKey(Object key) {
-        if (key != null) {
-            for (int i = 0; i < entries.length; i++) {
-                if (entries[i] != null && key.equals(entries[i].getKey())) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return indexOf(key) >= 0;
     }
 
     @Override
@@ -135,24 +147,23 @@ public class ArrayMap<K, V> extends AbstractIterableMap<K, V> {
 
     @Override
     public Iterator<Map.Entry<K, V>> iterator() {
-        return new ArrayMapIterator<>(this.entries);
+        return new ArrayMapIterator<>(this.entries, this.numElements);
     }
 
     private static class ArrayMapIterator<K, V> implements Iterator<Map.Entry<K, V>> {
         private final SimpleEntry<K, V>[] entries;
+        private final int size;
         private int index;
 
-        public ArrayMapIterator(SimpleEntry<K, V>[] entries) {
+        public ArrayMapIterator(SimpleEntry<K, V>[] entries, int size) {
             this.entries = entries;
+            this.size = size;
             this.index = 0;
         }
 
         @Override
         public boolean hasNext() {
-            while (index < entries.length && entries[index] == null) {
-                index++;
-            }
-            return index < entries.length;
+            return index < size;
         }
 
         @Override
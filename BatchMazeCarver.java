@@ -0,0 +1,95 @@
+package mazes.logic.carvers;
+
+import graphs.EdgeWithData;
+import graphs.minspantrees.MinimumSpanningTreeFinder;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.logic.MazeGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Generates many mazes concurrently, reproducibly from a single master seed.
+ *
+ * Each maze gets its own {@link SplittableRandom}, split off the master one in order by the
+ * calling thread before anything is submitted. A maze's random stream therefore depends only on
+ * the master seed and the maze's index, never on which thread runs it or when, so a batch is
+ * bit-identical for a given master seed whatever executor (bounded pool, virtual threads, or a
+ * single thread) it runs on. Results are returned in index order.
+ */
+public class BatchMazeCarver {
+    private final ExecutorService executor;
+
+    /**
+     * @param executor runs the generation tasks; it is not shut down by this class
+     */
+    public BatchMazeCarver(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs {@code generator} once per maze, each time with that maze's own random stream, and
+     * returns the results in order. If any call fails, the remaining ones are cancelled and the
+     * failure is rethrown.
+     *
+     * @param count the number of mazes. Must be >= 0.
+     */
+    public <T> List<T> generate(int count, long masterSeed, Function<SplittableRandom, T> generator)
+        throws InterruptedException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+        // split sequentially here, so that stream i is the same no matter how tasks are scheduled
+        SplittableRandom master = new SplittableRandom(masterSeed);
+        List<Future<T>> futures = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                SplittableRandom random = master.split();
+                futures.add(executor.submit(() -> generator.apply(random)));
+            }
+            List<T> results = new ArrayList<>(count);
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            // no-op for tasks that already finished
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Chooses the walls to remove from the same set of walls {@code count} times with Kruskal's
+     * algorithm, each time with a {@link KruskalMazeCarver} seeded from that maze's stream.
+     *
+     * @param walls the walls of the maze layout; only read, so it is shared by every task
+     * @param minimumSpanningTreeFinder shared by every task, so it must be safe to use from
+     *                                  several threads at once (the finders in
+     *                                  {@code graphs.minspantrees} keep no state between calls)
+     */
+    public List<Set<Wall>> carveKruskal(
+        int count, long masterSeed, Set<Wall> walls,
+        MinimumSpanningTreeFinder<MazeGraph, Room, EdgeWithData<Room, Wall>> minimumSpanningTreeFinder)
+        throws InterruptedException {
+        return generate(count, masterSeed, random ->
+            new KruskalMazeCarver(minimumSpanningTreeFinder, random.nextLong()).chooseWallsToRemove(walls));
+    }
+}
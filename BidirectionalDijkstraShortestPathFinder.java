@@ -0,0 +1,148 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQType;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes shortest paths using bidirectional Dijkstra: one search grows forward from the start,
+ * another grows backward from the end, and the search stops once the sum of the two frontier
+ * distances reaches the best start-to-end distance seen so far.
+ *
+ * The backward search follows {@code outgoingEdgesFrom} as well, so the graph must be undirected
+ * (every edge has a mirror edge of the same weight), as maze graphs are.
+ *
+ * The returned "tree" only contains the edges of the shortest path, which is all
+ * {@link #extractShortestPath} needs.
+ *
+ * @see SPTShortestPathFinder for more documentation.
+ */
+public class BidirectionalDijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
+    extends DijkstraShortestPathFinder<G, V, E> {
+
+    public BidirectionalDijkstraShortestPathFinder() {
+        super();
+    }
+
+    public BidirectionalDijkstraShortestPathFinder(MinPQType minPQType) {
+        super(minPQType);
+    }
+
+    @Override
+    protected Map<V, E> constructShortestPathsTree(G graph, V start, V end, ExpansionCounter counter) {
+        // without an end vertex there is nothing to search backward from, so build the full tree
+        if (end == null) {
+            return super.constructShortestPathsTree(graph, start, null, counter);
+        }
+
+        Map<V, E> spt = new HashMap<>();
+
+        // null graph, or start and end vertex are the same
+        if (graph == null || start.equals(end)) {
+            return spt;
+        }
+
+        Search forward = new Search(createMinPQ(graph), start);
+        Search backward = new Search(createMinPQ(graph), end);
+
+        // best start-to-end distance found so far, and the vertex where the two searches met
+        double best = Double.POSITIVE_INFINITY;
+        V meet = null;
+
+        while (!forward.pQueue.isEmpty() && !backward.pQueue.isEmpty()) {
+            // no path through an unsettled vertex can beat the best one we already have
+            if (forward.topDistance() + backward.topDistance() >= best) {
+                break;
+            }
+
+            // expand the smaller frontier
+            Search current = forward.pQueue.size() <= backward.pQueue.size() ? forward : backward;
+            Search other = current == forward ? backward : forward;
+
+            V vertex = current.pQueue.removeMin();
+            current.settled.add(vertex);
+            counter.add(1);
+
+            for (E edge : graph.outgoingEdgesFrom(vertex)) {
+                V target = edge.to();
+                if (current.settled.contains(target)) {
+                    continue;
+                }
+                current.relax(vertex, target, edge);
+
+                Double otherDist = other.distances.get(target);
+                if (otherDist != null) {
+                    double candidate = current.distances.get(target) + otherDist;
+                    if (candidate < best) {
+                        best = candidate;
+                        meet = target;
+                    }
+                }
+            }
+        }
+
+        // the searches never met, so there is no path
+        if (meet == null) {
+            return spt;
+        }
+
+        // forward half: tree edges from the meeting vertex back to the start
+        V vertex = meet;
+        while (!vertex.equals(start)) {
+            E edge = forward.spt.get(vertex);
+            spt.put(vertex, edge);
+            vertex = edge.from();
+        }
+
+        // backward half: the backward tree points toward the end, so flip each edge around
+        vertex = meet;
+        while (!vertex.equals(end)) {
+            E edge = ReverseEdges.reverseOf(graph, backward.spt.get(vertex));
+            spt.put(edge.to(), edge);
+            vertex = edge.to();
+        }
+        return spt;
+    }
+
+    // the state of one direction of the search
+    private class Search {
+        private final ExtrinsicMinPQ<V> pQueue;
+        private final Map<V, Double> distances;
+        private final Map<V, E> spt;
+        private final Set<V> settled;
+
+        Search(ExtrinsicMinPQ<V> pQueue, V source) {
+            this.pQueue = pQueue;
+            this.distances = new HashMap<>();
+            this.spt = new HashMap<>();
+            this.settled = new HashSet<>();
+            pQueue.add(source, 0.0);
+            distances.put(source, 0.0);
+        }
+
+        // distance of the closest unsettled vertex on this frontier
+        double topDistance() {
+            return distances.get(pQueue.peekMin());
+        }
+
+        void relax(V vertex, V target, E edge) {
+            double oldDist = distances.getOrDefault(target, Double.POSITIVE_INFINITY);
+            double newDist = distances.get(vertex) + edge.weight();
+            if (newDist < oldDist) {
+                distances.put(target, newDist);
+                spt.put(target, edge);
+                if (pQueue.contains(target)) {
+                    pQueue.changePriority(target, newDist);
+                } else {
+                    pQueue.add(target, newDist);
+                }
+            }
+        }
+    }
+}
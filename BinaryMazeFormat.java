@@ -0,0 +1,217 @@
+package mazes.logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes {@link CompactGridMazeGraph}s and {@link LargeGridMazeGraph}s in a compact
+ * binary format that can be memory-mapped and solved without being copied onto the heap.
+ *
+ * The format is little-endian: a 32-byte header (the magic number {@code "MAZE"}, the format
+ * version, the width, 4 reserved bytes, the height as a long, and the seed the maze was carved
+ * from), then the wall bitset exactly as the graphs store it, as longs. Since the header is a
+ * multiple of 8 bytes, the bitset is word-aligned, and a mapped file is used as the graph's storage
+ * directly: loading reads only the header, and the operating system pages the walls in as the
+ * solver touches them. Files larger than the 2GB a single mapping can hold are mapped in 1GB
+ * chunks, so a maze can have billions of rooms.
+ *
+ * Files are never rewritten in place. {@link #write} and {@link #create} fill a temporary file
+ * next to the target and then rename it over the target, so the path never holds a half-written
+ * maze, and a graph still mapped from the old file keeps the contents it had.
+ */
+public final class BinaryMazeFormat {
+    private static final int MAGIC = 0x455A414D; // "MAZE" read as little-endian bytes
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int COPY_BUFFER_BYTES = 1 << 20;
+
+    private BinaryMazeFormat() {
+    }
+
+    /**
+     * Writes the given maze to the given file, replacing it if it exists.
+     *
+     * @param seed the seed the maze was carved from, stored for reference
+     */
+    public static void write(Path path, CompactGridMazeGraph maze, long seed) throws IOException {
+        writeFile(path, maze.walls(), maze.width(), maze.height(), seed);
+    }
+
+    /**
+     * Writes the given maze to the given file, replacing it if it exists.
+     *
+     * @param seed the seed the maze was carved from, stored for reference
+     */
+    public static void write(Path path, LargeGridMazeGraph maze, long seed) throws IOException {
+        writeFile(path, maze.walls(), maze.width(), maze.height(), seed);
+    }
+
+    /**
+     * Creates a file holding a maze of the given size with every wall present, and returns a
+     * graph backed by a writable mapping of it. Walls removed from the graph go straight to the
+     * file.
+     */
+    public static CompactGridMazeGraph create(Path path, int width, int height, long seed) throws IOException {
+        // checks the size before we touch the file
+        CompactGridMazeGraph.checkSize(width, height);
+        writeFile(path, null, width, height, seed);
+        return load(path, true);
+    }
+
+    /**
+     * Creates a file holding a maze of the given size with every wall present, and returns a
+     * graph backed by a writable mapping of it. Walls removed from the graph, for example by a
+     * {@link mazes.logic.carvers.StreamingEllerMazeCarver}, go straight to the file, so a maze
+     * larger than the heap can be carved.
+     */
+    public static LargeGridMazeGraph createLarge(Path path, int width, long height, long seed) throws IOException {
+        GridWalls.checkSize(width, height);
+        writeFile(path, null, width, height, seed);
+        return loadLarge(path, true);
+    }
+
+    /**
+     * Memory-maps the maze in the given file and returns a graph backed by the mapping.
+     *
+     * @param writable if true, wall changes made through the graph are written to the file;
+     *                 otherwise the mapping is read-only and changing a wall throws
+     * @throws IOException if the file can't be read, is not a maze in this format, or has more
+     *                     rooms than int ids can number (use {@link #loadLarge} for those)
+     */
+    public static CompactGridMazeGraph load(Path path, boolean writable) throws IOException {
+        return map(path, writable, (width, height, bits) -> {
+            if (width * height > Integer.MAX_VALUE) {
+                throw new IOException(path + " has too many rooms for int ids: " + width + " x " + height);
+            }
+            return new CompactGridMazeGraph(width, (int) height, bits);
+        });
+    }
+
+    /**
+     * Memory-maps the maze in the given file, of any size, and returns a graph backed by the mapping.
+     *
+     * @param writable if true, wall changes made through the graph are written to the file;
+     *                 otherwise the mapping is read-only and changing a wall throws
+     * @throws IOException if the file can't be read or is not a maze in this format
+     */
+    public static LargeGridMazeGraph loadLarge(Path path, boolean writable) throws IOException {
+        return map(path, writable, LargeGridMazeGraph::new);
+    }
+
+    /**
+     * Returns the seed stored in the header of the given maze file.
+     */
+    public static long readSeed(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(channel, path).seed;
+        }
+    }
+
+    // builds a graph over the given walls
+    @FunctionalInterface
+    private interface GraphFactory<T> {
+        T create(int width, long height, WallBits bits) throws IOException;
+    }
+
+    private static <T> T map(Path path, boolean writable, GraphFactory<T> factory) throws IOException {
+        try (FileChannel channel = writable
+            ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+            : FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, path);
+            if (header.width <= 0 || header.height <= 0 || header.height > Long.MAX_VALUE / 2 / header.width) {
+                throw new IOException(path + " has an invalid maze size: " + header.width + " x " + header.height);
+            }
+            long words = GridWalls.wordCount(header.width, header.height);
+            if (channel.size() != fileSize(words)) {
+                throw new IOException(path + " has the wrong length for a " + header.width + " x "
+                    + header.height + " maze");
+            }
+            // the mappings stay valid after the channel is closed
+            WallBits bits = WallBits.map(channel, HEADER_BYTES, words,
+                writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY);
+            return factory.create(header.width, header.height, bits);
+        }
+    }
+
+    // writes a maze file with the given walls, or with every wall present if walls is null, to a
+    // temporary file, then renames it over the target
+    private static void writeFile(Path path, GridWalls walls, int width, long height, long seed) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                writeHeader(buffer, width, height, seed);
+                long words = GridWalls.wordCount(width, height);
+                for (long i = 0; i < words; i++) {
+                    if (!buffer.hasRemaining()) {
+                        writeFully(channel, buffer);
+                    }
+                    buffer.putLong(walls == null ? -1L : walls.bits().getWord(i));
+                }
+                writeFully(channel, buffer);
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    // writes out everything put into the buffer so far, and clears it
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static Header readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException(path + " is too short to be a maze file");
+            }
+        }
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not a maze file");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException(path + " has unsupported format version " + header.getInt(4));
+        }
+        return new Header(header.getInt(8), header.getLong(16), header.getLong(24));
+    }
+
+    private static void writeHeader(ByteBuffer buffer, int width, long height, long seed) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(width);
+        buffer.putInt(0);
+        buffer.putLong(height);
+        buffer.putLong(seed);
+    }
+
+    private static long fileSize(long words) {
+        return HEADER_BYTES + words * Long.BYTES;
+    }
+
+    private static final class Header {
+        private final int width;
+        private final long height;
+        private final long seed;
+
+        Header(int width, long height, long seed) {
+            this.width = width;
+            this.height = height;
+            this.seed = seed;
+        }
+    }
+}
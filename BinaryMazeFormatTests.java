@@ -0,0 +1,121 @@
+package mazes.logic;
+
+import graphs.Edge;
+import mazes.logic.carvers.StreamingEllerMazeCarver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for reading and writing mazes with {@link BinaryMazeFormat}.
+ */
+public class BinaryMazeFormatTests {
+    private static CompactGridMazeGraph randomMaze(int width, int height, long seed) {
+        Random random = new Random(seed);
+        CompactGridMazeGraph maze = new CompactGridMazeGraph(width, height, true);
+        for (int room = 0; room < maze.roomCount(); room++) {
+            if (room % width != width - 1) {
+                maze.setWallBetween(room, room + 1, random.nextBoolean());
+            }
+            if (room + width < maze.roomCount()) {
+                maze.setWallBetween(room, room + width, random.nextBoolean());
+            }
+        }
+        return maze;
+    }
+
+    private static void assertSameWalls(CompactGridMazeGraph expected, CompactGridMazeGraph actual) {
+        assertEquals(expected.width(), actual.width());
+        assertEquals(expected.height(), actual.height());
+        for (int room = 0; room < expected.roomCount(); room++) {
+            assertEquals(expected.outgoingEdgesFrom(room).size(), actual.outgoingEdgesFrom(room).size());
+            if (room % expected.width() != expected.width() - 1) {
+                assertEquals(expected.hasWallBetween(room, room + 1), actual.hasWallBetween(room, room + 1));
+            }
+            if (room + expected.width() < expected.roomCount()) {
+                assertEquals(expected.hasWallBetween(room, room + expected.width()),
+                    actual.hasWallBetween(room, room + expected.width()));
+            }
+        }
+    }
+
+    @Test
+    void roundTripsCompactMaze(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("maze.bin");
+        CompactGridMazeGraph maze = randomMaze(13, 7, 373);
+        BinaryMazeFormat.write(path, maze, 42);
+        assertSameWalls(maze, BinaryMazeFormat.load(path, false));
+        assertEquals(42L, BinaryMazeFormat.readSeed(path));
+    }
+
+    @Test
+    void readOnlyMazeRejectsChanges(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("maze.bin");
+        BinaryMazeFormat.write(path, randomMaze(5, 5, 1), 0);
+        CompactGridMazeGraph maze = BinaryMazeFormat.load(path, false);
+        assertThrows(ReadOnlyBufferException.class, () -> maze.setWallBetween(0, 1, false));
+    }
+
+    @Test
+    void writeLeavesMappedMazeIntact(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("maze.bin");
+        CompactGridMazeGraph original = randomMaze(9, 9, 1);
+        BinaryMazeFormat.write(path, original, 1);
+        CompactGridMazeGraph mapped = BinaryMazeFormat.load(path, true);
+
+        // replacing the file, even with the mapped graph itself, must not pull it out from under the mapping
+        CompactGridMazeGraph replacement = randomMaze(9, 9, 2);
+        BinaryMazeFormat.write(path, replacement, 2);
+        assertSameWalls(original, mapped);
+        assertSameWalls(replacement, BinaryMazeFormat.load(path, false));
+        BinaryMazeFormat.write(path, mapped, 1);
+        assertSameWalls(original, BinaryMazeFormat.load(path, false));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1L, files.count());
+        }
+    }
+
+    @Test
+    void carvesLargeMazeIntoFile(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("maze.bin");
+        int width = 17;
+        long height = 23;
+        LargeGridMazeGraph maze = BinaryMazeFormat.createLarge(path, width, height, 373);
+        new StreamingEllerMazeCarver(373).carve(width, height, (row, column, side) -> {
+            long room = maze.roomAt(row, column);
+            maze.setWallBetween(room, side == StreamingEllerMazeCarver.Side.EAST ? room + 1 : room + width, false);
+        });
+
+        // a perfect maze reaches every room, through rooms - 1 passages
+        LargeGridMazeGraph loaded = BinaryMazeFormat.loadLarge(path, false);
+        assertEquals(373L, BinaryMazeFormat.readSeed(path));
+        Set<Long> reached = new HashSet<>();
+        Deque<Long> stack = new ArrayDeque<>();
+        stack.push(0L);
+        reached.add(0L);
+        long passages = 0;
+        while (!stack.isEmpty()) {
+            for (Edge<Long> edge : loaded.outgoingEdgesFrom(stack.pop())) {
+                passages++;
+                if (reached.add(edge.to())) {
+                    stack.push(edge.to());
+                }
+            }
+        }
+        assertEquals(loaded.roomCount(), (long) reached.size());
+        assertEquals(2 * (loaded.roomCount() - 1), passages);
+    }
+}
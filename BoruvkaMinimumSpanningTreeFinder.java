@@ -0,0 +1,152 @@
+package graphs.minspantrees;
+
+import disjointsets.IntArrayDisjointSets;
+import graphs.BaseEdge;
+import graphs.KruskalGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Computes minimum spanning trees using Borůvka's algorithm.
+ *
+ * Each round finds the cheapest edge leaving every component, in parallel over the remaining
+ * edges, then adds all of those edges to the tree and contracts the components they join. Every
+ * round at least halves the number of components, so there are at most log V rounds.
+ *
+ * Edges are compared by weight and then by their position in {@code graph.allEdges()}, which makes
+ * the cheapest edge out of every component unique. The result therefore does not depend on
+ * thread scheduling or on the size of the pool.
+ *
+ * @see MinimumSpanningTreeFinder for more documentation.
+ */
+public class BoruvkaMinimumSpanningTreeFinder<G extends KruskalGraph<V, E>, V, E extends BaseEdge<V, E>>
+    implements MinimumSpanningTreeFinder<G, V, E> {
+    private static final int NO_EDGE = -1;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new finder that runs on the common fork-join pool.
+     */
+    public BoruvkaMinimumSpanningTreeFinder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new finder that runs on the given pool; the pool's parallelism decides how many
+     * threads each round uses.
+     */
+    public BoruvkaMinimumSpanningTreeFinder(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    @Override
+    public MinimumSpanningTree<V, E> findMinimumSpanningTree(G graph) {
+        // graph with no vertices
+        if (graph.allVertices().isEmpty()) {
+            return new MinimumSpanningTree.Success<>();
+        }
+
+        // number the vertices and flatten the edges into parallel arrays
+        Map<V, Integer> vertexIndex = new HashMap<>();
+        for (V vertex : graph.allVertices()) {
+            vertexIndex.putIfAbsent(vertex, vertexIndex.size());
+        }
+        int vertexCount = vertexIndex.size();
+        List<E> edges = new ArrayList<>(graph.allEdges());
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        double[] weight = new double[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            from[i] = vertexIndex.get(edges.get(i).from());
+            to[i] = vertexIndex.get(edges.get(i).to());
+            weight[i] = edges.get(i).weight();
+        }
+
+        // component[v] is the root of v's component as of the start of the round
+        int[] component = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            component[v] = v;
+        }
+        IntArrayDisjointSets<V> disjointSets = new IntArrayDisjointSets<>(vertexCount);
+        disjointSets.makeSets(vertexCount);
+        int[] live = IntStream.range(0, edges.size()).toArray();
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(vertexCount);
+        List<E> minimumSpanningTreeEdges = new ArrayList<>();
+
+        while (minimumSpanningTreeEdges.size() < vertexCount - 1) {
+            for (int c = 0; c < vertexCount; c++) {
+                cheapest.set(c, NO_EDGE);
+            }
+
+            // find the cheapest edge out of every component
+            int[] roundEdges = live;
+            pool.submit(() -> Arrays.stream(roundEdges).parallel().forEach(e -> {
+                int c1 = component[from[e]];
+                int c2 = component[to[e]];
+                if (c1 != c2) {
+                    offer(cheapest, c1, e, weight);
+                    offer(cheapest, c2, e, weight);
+                }
+            })).join();
+
+            // contract, in component order so the output order is deterministic too
+            int added = 0;
+            for (int c = 0; c < vertexCount; c++) {
+                int e = cheapest.get(c);
+                // both endpoints' components may have picked the same edge
+                if (e != NO_EDGE && disjointSets.union(from[e], to[e])) {
+                    minimumSpanningTreeEdges.add(edges.get(e));
+                    added++;
+                }
+            }
+            if (added == 0) {
+                // no edge leaves any component, so the graph is disconnected
+                break;
+            }
+
+            for (int v = 0; v < vertexCount; v++) {
+                component[v] = disjointSets.find(v);
+            }
+            live = pool.submit(() -> Arrays.stream(roundEdges).parallel()
+                .filter(e -> component[from[e]] != component[to[e]])
+                .toArray()).join();
+        }
+
+        // does MST exist
+        if (minimumSpanningTreeEdges.size() == vertexCount - 1) {
+            return new MinimumSpanningTree.Success<>(minimumSpanningTreeEdges);
+        } else {
+            return new MinimumSpanningTree.Failure<>();
+        }
+    }
+
+    // records edge e as component c's cheapest if it beats the current one, retrying on contention
+    private static void offer(AtomicIntegerArray cheapest, int c, int e, double[] weight) {
+        while (true) {
+            int current = cheapest.get(c);
+            if (current != NO_EDGE && !isLighter(e, current, weight)) {
+                return;
+            }
+            if (cheapest.compareAndSet(c, current, e)) {
+                return;
+            }
+        }
+    }
+
+    // orders edges by weight, then by index, so that there are never ties
+    private static boolean isLighter(int a, int b, double[] weight) {
+        int cmp = Double.compare(weight[a], weight[b]);
+        return cmp < 0 || (cmp == 0 && a < b);
+    }
+}
@@ -0,0 +1,178 @@
+package graphs.minspantrees;
+
+import graphs.Edge;
+import graphs.KruskalGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link BoruvkaMinimumSpanningTreeFinder}, with {@link KruskalMinimumSpanningTreeFinder}
+ * as the reference.
+ *
+ * Both finders break weight ties by an edge's position in {@code allEdges()}, so the minimum
+ * spanning tree they find is unique even when weights repeat, and their edge sets must match.
+ */
+public class BoruvkaTests {
+    private static final int[] POOL_SIZES = {1, 2, 4, 8};
+
+    // a connected graph: a random spanning tree plus random extra edges, with weights from a small
+    // range so that ties are common
+    private static TestGraph randomConnectedGraph(int vertexCount, int extraEdges, long seed) {
+        Random random = new Random(seed);
+        TestGraph graph = new TestGraph(vertexCount);
+        for (int v = 1; v < vertexCount; v++) {
+            graph.addEdge(random.nextInt(v), v, random.nextInt(10));
+        }
+        for (int i = 0; i < extraEdges; i++) {
+            graph.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount), random.nextInt(10));
+        }
+        Collections.shuffle(graph.edges, random);
+        return graph;
+    }
+
+    private static MinimumSpanningTree<Integer, Edge<Integer>> boruvka(TestGraph graph, int poolSize) {
+        ForkJoinPool pool = new ForkJoinPool(poolSize);
+        try {
+            return new BoruvkaMinimumSpanningTreeFinder<TestGraph, Integer, Edge<Integer>>(pool)
+                .findMinimumSpanningTree(graph);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static MinimumSpanningTree<Integer, Edge<Integer>> kruskal(TestGraph graph) {
+        return new KruskalMinimumSpanningTreeFinder<TestGraph, Integer, Edge<Integer>>()
+            .findMinimumSpanningTree(graph);
+    }
+
+    private static double totalWeight(Collection<Edge<Integer>> edges) {
+        double total = 0;
+        for (Edge<Integer> edge : edges) {
+            total += edge.weight();
+        }
+        return total;
+    }
+
+    // compares edges by identity, since a graph may hold equal parallel edges
+    private static Set<Edge<Integer>> edgeSet(Collection<Edge<Integer>> edges) {
+        Set<Edge<Integer>> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(edges);
+        return set;
+    }
+
+    @Test
+    void randomGraphs_matchKruskal() {
+        for (long seed = 0; seed < 20; seed++) {
+            TestGraph graph = randomConnectedGraph(200, 600, seed);
+            MinimumSpanningTree<Integer, Edge<Integer>> expected = kruskal(graph);
+            assertTrue(expected.exists());
+            for (int poolSize : POOL_SIZES) {
+                MinimumSpanningTree<Integer, Edge<Integer>> actual = boruvka(graph, poolSize);
+                assertTrue(actual.exists());
+                assertEquals(199, actual.edges().size());
+                assertEquals(totalWeight(expected.edges()), totalWeight(actual.edges()));
+                assertEquals(edgeSet(expected.edges()), edgeSet(actual.edges()));
+            }
+        }
+    }
+
+    @Test
+    void disconnectedGraph_fails() {
+        TestGraph graph = new TestGraph(6);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(3, 4, 1);
+        graph.addEdge(4, 5, 3);
+        for (int poolSize : POOL_SIZES) {
+            assertFalse(boruvka(graph, poolSize).exists());
+        }
+        assertFalse(kruskal(graph).exists());
+    }
+
+    @Test
+    void isolatedVertex_fails() {
+        TestGraph graph = randomConnectedGraph(50, 100, 373);
+        TestGraph withIsolated = new TestGraph(51);
+        withIsolated.edges.addAll(graph.edges);
+        for (int poolSize : POOL_SIZES) {
+            assertFalse(boruvka(withIsolated, poolSize).exists());
+        }
+    }
+
+    @Test
+    void equalWeights_sameTreeForEveryPoolSize() {
+        // a 30 x 30 grid where every edge weighs the same, so only the tie-break decides the tree
+        int side = 30;
+        TestGraph grid = new TestGraph(side * side);
+        for (int v = 0; v < side * side; v++) {
+            if (v % side != side - 1) {
+                grid.addEdge(v, v + 1, 1);
+            }
+            if (v + side < side * side) {
+                grid.addEdge(v, v + side, 1);
+            }
+        }
+        Collections.shuffle(grid.edges, new Random(373));
+
+        List<Edge<Integer>> first = new ArrayList<>(boruvka(grid, 1).edges());
+        for (int poolSize : POOL_SIZES) {
+            for (int run = 0; run < 3; run++) {
+                assertEquals(first, new ArrayList<>(boruvka(grid, poolSize).edges()));
+            }
+        }
+        assertEquals(edgeSet(kruskal(grid).edges()), edgeSet(first));
+    }
+
+    static class TestGraph implements KruskalGraph<Integer, Edge<Integer>> {
+        private final int vertexCount;
+        private final List<Edge<Integer>> edges;
+
+        TestGraph(int vertexCount) {
+            this.vertexCount = vertexCount;
+            this.edges = new ArrayList<>();
+        }
+
+        void addEdge(int u, int v, int weight) {
+            edges.add(new Edge<>(u, v, weight));
+        }
+
+        @Override
+        public Collection<Edge<Integer>> outgoingEdgesFrom(Integer vertex) {
+            List<Edge<Integer>> outgoing = new ArrayList<>();
+            for (Edge<Integer> edge : edges) {
+                if (edge.from().equals(vertex)) {
+                    outgoing.add(edge);
+                } else if (edge.to().equals(vertex)) {
+                    outgoing.add(edge.reversed());
+                }
+            }
+            return outgoing;
+        }
+
+        @Override
+        public Collection<Integer> allVertices() {
+            List<Integer> vertices = new ArrayList<>();
+            for (int v = 0; v < vertexCount; v++) {
+                vertices.add(v);
+            }
+            return vertices;
+        }
+
+        @Override
+        public Collection<Edge<Integer>> allEdges() {
+            return edges;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package graphs;
+
+/**
+ * A graph that promises every edge weight is a non-negative integer no larger than
+ * {@link #maxEdgeWeight()}.
+ *
+ * Shortest path finders may use this promise to switch to monotone integer priority queues
+ * (bucket queues, radix heaps) instead of comparison-based heaps.
+ */
+public interface BoundedIntegerWeightGraph<V, E extends BaseEdge<V, E>> extends Graph<V, E> {
+    /**
+     * Returns an upper bound on the weight of every edge in this graph. Must be >= 0.
+     */
+    int maxEdgeWeight();
+}
@@ -0,0 +1,339 @@
+package graphs.shortestpaths;
+
+import graphs.BoundedIntegerWeightGraph;
+import graphs.Edge;
+import graphs.VersionedGraph;
+import org.junit.jupiter.api.Test;
+import priorityqueues.MinPQType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regression tests for shortest path finders on graphs with bounded integer weights above 1,
+ * where the start's first neighbor is not its nearest.
+ */
+public class BoundedWeightShortestPathTests {
+    // an undirected graph with edges 0-1 (5), 0-2 (2) and 2-1 (1); the shortest 0-1 path is 0-2-1
+    private static TestGraph triangle() {
+        TestGraph graph = new TestGraph(10);
+        graph.addUndirectedEdge(0, 1, 5);
+        graph.addUndirectedEdge(0, 2, 2);
+        graph.addUndirectedEdge(2, 1, 1);
+        return graph;
+    }
+
+    private static void assertShortestPathLength(ShortestPath<Integer, Edge<Integer>> path, double expected) {
+        assertTrue(path.exists());
+        assertEquals(expected, totalWeight(path));
+    }
+
+    @Test
+    void dijkstra_defaultQueue() {
+        assertShortestPathLength(new DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>()
+            .findShortestPath(triangle(), 0, 1), 3);
+    }
+
+    @Test
+    void dijkstra_monotoneIntegerQueue() {
+        assertShortestPathLength(new DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>(
+            MinPQType.MONOTONE_INTEGER).findShortestPath(triangle(), 0, 1), 3);
+    }
+
+    @Test
+    void dijkstra_monotoneIntegerQueue_largeBound() {
+        // bounds this large use a radix heap instead of a bucket queue
+        TestGraph graph = new TestGraph(1 << 20);
+        graph.addUndirectedEdge(0, 1, 500000);
+        graph.addUndirectedEdge(0, 2, 2);
+        graph.addUndirectedEdge(2, 1, 1);
+        assertShortestPathLength(new DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>(
+            MinPQType.MONOTONE_INTEGER).findShortestPath(graph, 0, 1), 3);
+    }
+
+    @Test
+    void dijkstra_countsExpansionsInCallersCounter() {
+        DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>> finder = new DijkstraShortestPathFinder<>();
+        DijkstraShortestPathFinder.ExpansionCounter counter = new DijkstraShortestPathFinder.ExpansionCounter();
+        assertShortestPathLength(finder.findShortestPath(triangle(), 0, 1, counter), 3);
+        // 0, then 2, then 1
+        assertEquals(3, counter.count());
+    }
+
+    @Test
+    void bidirectional_defaultQueue() {
+        assertShortestPathLength(new BidirectionalDijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>()
+            .findShortestPath(triangle(), 0, 1), 3);
+    }
+
+    @Test
+    void bidirectional_monotoneIntegerQueue() {
+        assertShortestPathLength(new BidirectionalDijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>(
+            MinPQType.MONOTONE_INTEGER).findShortestPath(triangle(), 0, 1), 3);
+    }
+
+    @Test
+    void bidirectional_matchesDijkstraOnRandomGraphs() {
+        Random random = new Random(373);
+        for (int trial = 0; trial < 20; trial++) {
+            TestGraph graph = randomGraph(random, 60, 150, 10);
+            DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>> dijkstra = new DijkstraShortestPathFinder<>();
+            BidirectionalDijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>> bidirectional =
+                new BidirectionalDijkstraShortestPathFinder<>(MinPQType.MONOTONE_INTEGER);
+            for (int query = 0; query < 20; query++) {
+                int start = random.nextInt(60);
+                int end = random.nextInt(60);
+                ShortestPath<Integer, Edge<Integer>> expected = dijkstra.findShortestPath(graph, start, end);
+                ShortestPath<Integer, Edge<Integer>> actual = bidirectional.findShortestPath(graph, start, end);
+                assertEquals(expected.exists(), actual.exists());
+                if (expected.exists()) {
+                    assertShortestPathLength(actual, totalWeight(expected));
+                    assertConnects(actual, start, end);
+                }
+            }
+        }
+    }
+
+    static void assertConnects(ShortestPath<Integer, Edge<Integer>> path, int start, int end) {
+        int vertex = start;
+        for (Edge<Integer> edge : path.edges()) {
+            assertEquals(vertex, (int) edge.from());
+            vertex = edge.to();
+        }
+        assertEquals(end, vertex);
+    }
+
+    // a random undirected graph on vertices 0 through n - 1, not necessarily connected
+    static TestGraph randomGraph(Random random, int vertexCount, int edgeCount, int maxEdgeWeight) {
+        TestGraph graph = new TestGraph(maxEdgeWeight);
+        for (int i = 0; i < edgeCount; i++) {
+            int u = random.nextInt(vertexCount);
+            int v = random.nextInt(vertexCount);
+            if (u != v) {
+                graph.addUndirectedEdge(u, v, 1 + random.nextInt(maxEdgeWeight));
+            }
+        }
+        return graph;
+    }
+
+    static double totalWeight(ShortestPath<Integer, Edge<Integer>> path) {
+        double total = 0;
+        for (Edge<Integer> edge : path.edges()) {
+            total += edge.weight();
+        }
+        return total;
+    }
+
+    @Test
+    void caching_monotoneIntegerQueue() {
+        CachingShortestPathFinder<TestGraph, Integer, Edge<Integer>> finder = new CachingShortestPathFinder<>(
+            new DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>(MinPQType.MONOTONE_INTEGER), 4);
+        TestGraph graph = triangle();
+        assertShortestPathLength(finder.findShortestPath(graph, 0, 1), 3);
+        assertShortestPathLength(finder.findShortestPath(graph, 0, 2), 2);
+        assertEquals(1, finder.missCount());
+        assertEquals(1, finder.hitCount());
+    }
+
+    @Test
+    void caching_dropsStaleVersions() {
+        CachingShortestPathFinder<TestGraph, Integer, Edge<Integer>> finder = new CachingShortestPathFinder<>(
+            new DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>(), 4);
+        TestGraph graph = triangle();
+        assertShortestPathLength(finder.findShortestPath(graph, 0, 1), 3);
+        graph.removeUndirectedEdge(2, 1);
+        assertShortestPathLength(finder.findShortestPath(graph, 0, 1), 5);
+        // the tree for the old version is gone, not just unreachable
+        assertEquals(1, finder.size());
+    }
+
+    @Test
+    void caching_skipsTreesBuiltWhileGraphChanged() {
+        CachingShortestPathFinder<TestGraph, Integer, Edge<Integer>> finder = new CachingShortestPathFinder<>(
+            new DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>(), 4);
+        TestGraph graph = new TestGraph(10) {
+            private boolean changed;
+
+            @Override
+            public Collection<Edge<Integer>> outgoingEdgesFrom(Integer vertex) {
+                // the first expansion changes the graph, as another thread editing the maze would
+                if (!changed) {
+                    changed = true;
+                    addUndirectedEdge(5, 6, 1);
+                }
+                return super.outgoingEdgesFrom(vertex);
+            }
+        };
+        graph.addUndirectedEdge(0, 1, 3);
+        assertShortestPathLength(finder.findShortestPath(graph, 0, 1), 3);
+        assertEquals(0, finder.size());
+        assertShortestPathLength(finder.findShortestPath(graph, 0, 1), 3);
+        assertEquals(1, finder.size());
+        assertEquals(2, finder.missCount());
+    }
+
+    @Test
+    void distanceMatrix_monotoneIntegerQueue() {
+        DistanceMatrixFinder<TestGraph, Integer, Edge<Integer>> finder = new DistanceMatrixFinder<>(
+            new DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>(MinPQType.MONOTONE_INTEGER),
+            ForkJoinPool.commonPool());
+        double[][] distances = finder.findDistances(triangle(), List.of(0, 1), List.of(1, 2, 1));
+        assertEquals(3.0, distances[0][0]);
+        assertEquals(2.0, distances[0][1]);
+        assertEquals(3.0, distances[0][2]);
+        assertEquals(0.0, distances[1][0]);
+        assertEquals(1.0, distances[1][1]);
+    }
+
+    @Test
+    void distanceMatrix_matchesDijkstraOnRandomGraphs() {
+        Random random = new Random(373);
+        TestGraph graph = randomGraph(random, 60, 150, 10);
+        DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>> dijkstra = new DijkstraShortestPathFinder<>();
+        DistanceMatrixFinder<TestGraph, Integer, Edge<Integer>> finder = new DistanceMatrixFinder<>(
+            new DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>>(MinPQType.MONOTONE_INTEGER),
+            ForkJoinPool.commonPool());
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            vertices.add(i);
+        }
+        double[][] distances = finder.findDistances(graph, vertices, vertices);
+        for (int i = 0; i < 60; i++) {
+            for (int j = 0; j < 60; j++) {
+                ShortestPath<Integer, Edge<Integer>> expected = dijkstra.findShortestPath(graph, i, j);
+                assertEquals(expected.exists() ? totalWeight(expected) : Double.POSITIVE_INFINITY, distances[i][j]);
+            }
+        }
+    }
+
+    @Test
+    void dynamicTree_monotoneIntegerQueue() {
+        TestGraph graph = triangle();
+        DynamicShortestPathTree<TestGraph, Integer, Edge<Integer>> tree = new DynamicShortestPathTree<>(
+            new DijkstraShortestPathFinder<>(MinPQType.MONOTONE_INTEGER), graph, 0);
+        assertEquals(3.0, tree.distanceTo(1));
+        assertShortestPathLength(tree.findShortestPath(1), 3);
+
+        graph.removeUndirectedEdge(2, 1);
+        tree.edgeRemoved(new Edge<>(2, 1, 1));
+        assertEquals(5.0, tree.distanceTo(1));
+        assertShortestPathLength(tree.findShortestPath(1), 5);
+    }
+
+    @Test
+    void dynamicTree_matchesDijkstraAfterRandomEdits() {
+        Random random = new Random(373);
+        int vertexCount = 40;
+        TestGraph graph = new TestGraph(10);
+        List<Edge<Integer>> edges = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            insertRandomEdge(random, graph, edges, vertexCount);
+        }
+        DijkstraShortestPathFinder<TestGraph, Integer, Edge<Integer>> dijkstra = new DijkstraShortestPathFinder<>();
+        DynamicShortestPathTree<TestGraph, Integer, Edge<Integer>> tree = new DynamicShortestPathTree<>(
+            new DijkstraShortestPathFinder<>(MinPQType.MONOTONE_INTEGER), graph, 0);
+
+        for (int step = 0; step < 300; step++) {
+            int action = random.nextInt(3);
+            if (action == 0 || edges.isEmpty()) {
+                Edge<Integer> edge = insertRandomEdge(random, graph, edges, vertexCount);
+                if (edge != null) {
+                    tree.edgeInserted(edge);
+                }
+            } else {
+                Edge<Integer> edge = edges.get(random.nextInt(edges.size()));
+                if (action == 1) {
+                    edges.remove(edge);
+                    graph.removeUndirectedEdge(edge.from(), edge.to());
+                    tree.edgeRemoved(edge);
+                } else {
+                    edges.remove(edge);
+                    graph.removeUndirectedEdge(edge.from(), edge.to());
+                    Edge<Integer> reweighted = new Edge<>(edge.from(), edge.to(), 1 + random.nextInt(10));
+                    graph.addUndirectedEdge(reweighted.from(), reweighted.to(), (int) reweighted.weight());
+                    edges.add(reweighted);
+                    tree.edgeReweighted(reweighted);
+                }
+            }
+
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                ShortestPath<Integer, Edge<Integer>> expected = dijkstra.findShortestPath(graph, 0, vertex);
+                double expectedDistance = expected.exists() ? totalWeight(expected) : Double.POSITIVE_INFINITY;
+                assertEquals(expectedDistance, tree.distanceTo(vertex));
+                ShortestPath<Integer, Edge<Integer>> actual = tree.findShortestPath(vertex);
+                assertEquals(expected.exists(), actual.exists());
+                if (expected.exists()) {
+                    assertShortestPathLength(actual, expectedDistance);
+                    assertConnects(actual, 0, vertex);
+                }
+            }
+        }
+    }
+
+    // adds an edge between two random vertices and returns it, or returns null without adding
+    // anything if the vertices are the same or already adjacent
+    private static Edge<Integer> insertRandomEdge(Random random, TestGraph graph, List<Edge<Integer>> edges,
+                                                  int vertexCount) {
+        int u = random.nextInt(vertexCount);
+        int v = random.nextInt(vertexCount);
+        for (Edge<Integer> edge : graph.outgoingEdgesFrom(u)) {
+            if (edge.to() == v) {
+                return null;
+            }
+        }
+        if (u == v) {
+            return null;
+        }
+        Edge<Integer> edge = new Edge<>(u, v, 1 + random.nextInt(10));
+        graph.addUndirectedEdge(u, v, (int) edge.weight());
+        edges.add(edge);
+        return edge;
+    }
+
+    static class TestGraph implements BoundedIntegerWeightGraph<Integer, Edge<Integer>>,
+        VersionedGraph<Integer, Edge<Integer>> {
+        private final int maxEdgeWeight;
+        private final Map<Integer, List<Edge<Integer>>> adjacency;
+        private long version;
+
+        TestGraph(int maxEdgeWeight) {
+            this.maxEdgeWeight = maxEdgeWeight;
+            this.adjacency = new HashMap<>();
+        }
+
+        void addUndirectedEdge(int u, int v, int weight) {
+            adjacency.computeIfAbsent(u, k -> new ArrayList<>()).add(new Edge<>(u, v, weight));
+            adjacency.computeIfAbsent(v, k -> new ArrayList<>()).add(new Edge<>(v, u, weight));
+            version++;
+        }
+
+        void removeUndirectedEdge(int u, int v) {
+            adjacency.get(u).removeIf(edge -> edge.to() == v);
+            adjacency.get(v).removeIf(edge -> edge.to() == u);
+            version++;
+        }
+
+        @Override
+        public Collection<Edge<Integer>> outgoingEdgesFrom(Integer vertex) {
+            return adjacency.getOrDefault(vertex, new ArrayList<>());
+        }
+
+        @Override
+        public int maxEdgeWeight() {
+            return maxEdgeWeight;
+        }
+
+        @Override
+        public long version() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package priorityqueues;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone bucket queue (Dial's algorithm) for non-negative integer priorities.
+ *
+ * The queue keeps {@code maxEdgeWeight + 1} circular buckets. It assumes the Dijkstra access
+ * pattern: every added or changed priority is between the last removed priority (or, before
+ * anything is removed, the first priority ever added) and that priority plus
+ * {@code maxEdgeWeight}. Adding never moves that floor, so popping the start vertex and then
+ * adding its neighbors in any order works. Under that assumption all operations are O(1), except
+ * {@code removeMin} and {@code peekMin}, which scan at most {@code maxEdgeWeight + 1} buckets.
+ *
+ * @see ExtrinsicMinPQ
+ */
+public class BucketMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private final Node<T>[] buckets;
+    private final Map<T, Node<T>> nodes;
+    // the last removed priority, or the first added one before any removal; -1 before any add.
+    // every priority in the queue is in [floor, floor + maxEdgeWeight]
+    private long floor;
+    // where the scan for the minimum resumes; no item is below it, and it is never below floor
+    private long cursor;
+
+    /**
+     * Constructs a new queue for graphs whose edge weights are at most {@code maxEdgeWeight}.
+     *
+     * @param maxEdgeWeight the largest edge weight. Must be >= 0.
+     */
+    @SuppressWarnings("unchecked")
+    public BucketMinPQ(int maxEdgeWeight) {
+        if (maxEdgeWeight < 0 || maxEdgeWeight == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid maximum edge weight: " + maxEdgeWeight);
+        }
+        this.buckets = (Node<T>[]) new Node<?>[maxEdgeWeight + 1];
+        this.nodes = new HashMap<>();
+        this.floor = -1;
+        this.cursor = 0;
+    }
+
+    // Adds an item with the given priority value.
+    @Override
+    public void add(T item, double priority) {
+        if (contains(item)) {
+            throw new IllegalArgumentException("This item already exists in priority queue");
+        }
+        long key = RadixHeapMinPQ.toKey(priority);
+        if (floor < 0) {
+            // nothing has been added yet, so start the window at this item
+            floor = key;
+            cursor = key;
+        }
+        checkInWindow(key);
+        Node<T> node = new Node<>(item, key);
+        nodes.put(item, node);
+        link(node);
+    }
+
+    // Returns true if the PQ contains the given item; false otherwise.
+    @Override
+    public boolean contains(T item) {
+        return nodes.containsKey(item);
+    }
+
+    // Returns the item with least-valued priority.
+    @Override
+    public T peekMin() {
+        return buckets[advanceToMin()].item;
+    }
+
+    // Removes and returns the item with least-valued priority.
+    @Override
+    public T removeMin() {
+        Node<T> min = buckets[advanceToMin()];
+        unlink(min);
+        nodes.remove(min.item);
+        floor = min.key;
+        return min.item;
+    }
+
+    // Changes the priority of the given item.
+    @Override
+    public void changePriority(T item, double priority) {
+        Node<T> node = nodes.get(item);
+        if (node == null) {
+            throw new NoSuchElementException("Item does not exist in the priority queue.");
+        }
+        long key = RadixHeapMinPQ.toKey(priority);
+        checkInWindow(key);
+        unlink(node);
+        node.key = key;
+        link(node);
+    }
+
+    // Returns the number of items in the PQ.
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    // Returns true if the PQ is empty, false otherwise.
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    // moves the cursor up to the first non-empty bucket and returns that bucket's index
+    private int advanceToMin() {
+        if (nodes.isEmpty()) {
+            throw new NoSuchElementException("Priority queue is empty.");
+        }
+        int index = bucketIndex(cursor);
+        while (buckets[index] == null) {
+            cursor++;
+            index = bucketIndex(cursor);
+        }
+        return index;
+    }
+
+    // also moves the cursor back if the key is below it (only possible after a peekMin)
+    private void checkInWindow(long key) {
+        if (key < floor || key - floor >= buckets.length) {
+            throw new IllegalArgumentException("Priority " + key + " is outside the monotone window ["
+                + floor + ", " + (floor + buckets.length - 1) + "]");
+        }
+        cursor = Math.min(cursor, key);
+    }
+
+    private int bucketIndex(long key) {
+        return (int) (key % buckets.length);
+    }
+
+    private void link(Node<T> node) {
+        int index = bucketIndex(node.key);
+        node.prev = null;
+        node.next = buckets[index];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[index] = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[bucketIndex(node.key)] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static class Node<T> {
+        private final T item;
+        private long key;
+        private Node<T> prev;
+        private Node<T> next;
+
+        Node(T item, long key) {
+            this.item = item;
+            this.key = key;
+        }
+    }
+}
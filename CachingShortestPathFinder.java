@@ -0,0 +1,167 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import graphs.VersionedGraph;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Answers shortest path queries from a size-bounded, least-recently-used cache of complete
+ * shortest paths trees, keyed by (graph identity, graph version, start vertex).
+ *
+ * On a miss, the wrapped finder builds the full tree from the start vertex (not just up to the
+ * requested end), so that every later query from the same start is a hit. Graphs that implement
+ * {@link VersionedGraph} are re-solved automatically after they change, and the first miss on a
+ * new version drops every tree cached for older versions of the same graph. A tree whose graph
+ * changed while it was being built is returned but not cached. For other graphs, call
+ * {@link #invalidate(Graph)} whenever the graph is modified (e.g. when a maze is re-carved).
+ *
+ * Cached entries hold strong references to their graphs, so a graph stays reachable for as long
+ * as any tree built over it is cached. Call {@link #invalidate(Graph)} when a graph is discarded
+ * to release it before the least-recently-used eviction gets to it.
+ *
+ * This class is thread-safe if the wrapped finder is.
+ *
+ * @see SPTShortestPathFinder for more documentation.
+ */
+public class CachingShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
+    implements ShortestPathFinder<G, V, E> {
+    private final DijkstraShortestPathFinder<G, V, E> finder;
+    private final Map<Key, Map<V, E>> cache;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs a new cache in front of the given finder.
+     *
+     * @param finder builds the trees; it must build a complete tree when given a null end vertex
+     * @param maxEntries the maximum number of trees to keep. Must be > 0.
+     */
+    public CachingShortestPathFinder(DijkstraShortestPathFinder<G, V, E> finder, int maxEntries) {
+        if (finder == null || maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+        this.finder = finder;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Map<V, E>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public ShortestPath<V, E> findShortestPath(G graph, V start, V end) {
+        Key key = new Key(graph, start);
+        Map<V, E> spt;
+        synchronized (this) {
+            spt = cache.get(key);
+            if (spt != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        if (spt == null) {
+            // build outside the lock so that other queries aren't held up; if two threads miss on
+            // the same key at once, both build the tree and the second put wins
+            spt = finder.constructShortestPathsTree(graph, start, null);
+            synchronized (this) {
+                // a tree built while the graph changed may mix old and new edges, so it's only
+                // returned to this caller, never cached
+                if (versionOf(graph) == key.version) {
+                    removeStaleVersions(key);
+                    cache.put(key, spt);
+                }
+            }
+        }
+        return finder.extractShortestPath(spt, start, end);
+    }
+
+    /**
+     * Discards every cached tree for the given graph.
+     */
+    public synchronized void invalidate(G graph) {
+        Iterator<Key> keys = cache.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().graph == graph) {
+                keys.remove();
+            }
+        }
+    }
+
+    // drops trees cached for older versions of the key's graph; only called on a miss, which
+    // already costs a full search, so scanning the cache is cheap in comparison
+    private void removeStaleVersions(Key key) {
+        if (!(key.graph instanceof VersionedGraph)) {
+            return;
+        }
+        Iterator<Key> keys = cache.keySet().iterator();
+        while (keys.hasNext()) {
+            Key other = keys.next();
+            if (other.graph == key.graph && other.version < key.version) {
+                keys.remove();
+            }
+        }
+    }
+
+    /**
+     * Discards every cached tree.
+     */
+    public synchronized void invalidateAll() {
+        cache.clear();
+    }
+
+    // Returns the number of queries answered from the cache.
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    // Returns the number of queries that had to build a new tree.
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    // Returns the number of trees currently cached.
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    private static long versionOf(Graph<?, ?> graph) {
+        return graph instanceof VersionedGraph ? ((VersionedGraph<?, ?>) graph).version() : 0;
+    }
+
+    // graphs are compared by identity, since two equal-looking graphs may still be different mazes
+    private static class Key {
+        private final Graph<?, ?> graph;
+        private final long version;
+        private final Object start;
+
+        Key(Graph<?, ?> graph, Object start) {
+            this.graph = graph;
+            this.version = versionOf(graph);
+            this.start = start;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return graph == other.graph && version == other.version && Objects.equals(start, other.start);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(graph) + Long.hashCode(version)) + Objects.hashCode(start);
+        }
+    }
+}
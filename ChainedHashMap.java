@@ -1,10 +1,33 @@
 package maps;
 
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.Metrics;
+import metrics.PhaseTimer;
+
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
+ * A hash map that chains colliding entries into small {@link ArrayMap}s.
+ *
+ * By default the map resizes all at once: when the load factor reaches the threshold, every entry
+ * is rehashed into a table twice the size during a single put. Maps constructed with
+ * {@code incrementalResize} instead keep the old and new tables side by side and migrate a few old
+ * chains on every get, containsKey, put and remove, so no single operation pays for the whole
+ * rehash. Reads advance the migration a step at a time rather than finishing it, so a read-heavy
+ * phase after a resize doesn't leave lookups consulting both tables indefinitely, and no single
+ * read is slow. While a migration is in progress, lookups consult both tables. Creating an iterator
+ * finishes the migration, since iterating is a full pass anyway, so reads made while iterating have
+ * nothing left to move.
+ *
+ * Hash codes are spread (their high bits are folded into the low bits) before being masked down to
+ * a chain index, since the number of chains is always a power of two. A chain that grows far past
+ * the load factor threshold (to at least {@code MIN_TREEIFY_THRESHOLD} entries, and four times the
+ * threshold) is converted into a {@link SortedChainMap}, so even badly skewed keys can't make
+ * lookups linear. Well-spread keys essentially never fill a chain that far.
+ *
  * @see AbstractIterableMap
  * @see Map
  */
@@ -12,9 +35,26 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     private static final double DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD = 10;
     private static final int DEFAULT_INITIAL_CHAIN_COUNT = 10;
     private static final int DEFAULT_INITIAL_CHAIN_CAPACITY = 10;
+    // number of old chains an incremental resize moves per get, containsKey, put or remove
+    private static final int MIGRATION_CHAINS_PER_OPERATION = 4;
+    // chains are never converted to sorted chains below this many entries
+    private static final int MIN_TREEIFY_THRESHOLD = 64;
+    // length of the chain each new key lands in
+    private static final Histogram CHAIN_LENGTH = Metrics.histogram("ChainedHashMap.chainLength");
+    private static final Counter RESIZES = Metrics.counter("ChainedHashMap.resizes");
+    // nanoseconds per resize; for incremental resizes, only the part done up front
+    private static final Histogram RESIZE_TIME = Metrics.histogram("ChainedHashMap.resizeTime");
     private int numElements;
-    private static double threshold;
-    private static int chainCapacity;
+    private final double threshold;
+    // chains with more entries than this are converted to sorted chains
+    private final int treeifyThreshold;
+    private final int chainCapacity;
+    private final boolean incrementalResize;
+
+    // during an incremental resize: the previous table, whose chains are nulled out once migrated,
+    // and the index of the next chain to migrate. oldChains is null when no resize is in progress.
+    private AbstractIterableMap<K, V>[] oldChains;
+    private int migrationIndex;
 
     /*
     Warning:
@@ -29,9 +69,6 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
      */
     public ChainedHashMap() {
         this(DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD, DEFAULT_INITIAL_CHAIN_COUNT, DEFAULT_INITIAL_CHAIN_CAPACITY);
-        this.numElements = 0;
-        this.threshold = DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD;
-        this.chainCapacity = DEFAULT_INITIAL_CHAIN_CAPACITY;
     }
 
     /**
@@ -39,19 +76,44 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
      *
      * @param resizingLoadFactorThreshold the load factor threshold for resizing. When the load factor
      *                                    exceeds this value, the hash table resizes. Must be > 0.
-     * @param initialChainCount the initial number of chains for your hash table. Must be > 0.
+     * @param initialChainCount the initial number of chains for your hash table, rounded up to a
+     *                          power of two. Must be > 0.
      * @param chainInitialCapacity the initial capacity of each ArrayMap chain created by the map.
      *                             Must be > 0.
      */
     public ChainedHashMap(double resizingLoadFactorThreshold, int initialChainCount, int chainInitialCapacity) {
-        if (resizingLoadFactorThreshold <= 0 || initialChainCount <= 0 || chainInitialCapacity <= 0) {
+        this(resizingLoadFactorThreshold, initialChainCount, chainInitialCapacity, false);
+    }
+
+    /**
+     * Constructs a new ChainedHashMap with the given parameters.
+     *
+     * @param resizingLoadFactorThreshold the load factor threshold for resizing. When the load factor
+     *                                    exceeds this value, the hash table resizes. Must be > 0.
+     * @param initialChainCount the initial number of chains for your hash table, rounded up to a
+     *                          power of two. Must be > 0.
+     * @param chainInitialCapacity the initial capacity of each ArrayMap chain created by the map.
+     *                             Must be > 0.
+     * @param incrementalResize whether to spread each resize over later puts and removes instead of
+     *                          rehashing every entry at once
+     */
+    public ChainedHashMap(double resizingLoadFactorThreshold, int initialChainCount, int chainInitialCapacity,
+                          boolean incrementalResize) {
+        if (resizingLoadFactorThreshold <= 0 || initialChainCount <= 0 || chainInitialCapacity <= 0
+            || initialChainCount > (1 << 30)) {
             throw new IllegalArgumentException("Invalid parameters");
         }
+        int chainCount = initialChainCount == 1 ? 1 : Integer.highestOneBit(initialChainCount - 1) << 1;
         this.threshold = resizingLoadFactorThreshold;
+        this.treeifyThreshold = (int) Math.min(Integer.MAX_VALUE,
+            Math.max(MIN_TREEIFY_THRESHOLD, 4 * resizingLoadFactorThreshold));
         this.chainCapacity = chainInitialCapacity;
-        this.chains = createArrayOfChains(initialChainCount);
+        this.incrementalResize = incrementalResize;
+        this.chains = createArrayOfChains(chainCount);
         this.numElements = 0;
-        for (int i = 0; i < initialChainCount; i++) {
+        this.oldChains = null;
+        this.migrationIndex = 0;
+        for (int i = 0; i < chainCount; i++) {
             this.chains[i] = createChain(chainInitialCapacity);
         }
     }
@@ -85,29 +147,103 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     // Gets the chain at the specified index and returns the value associated with the key
     @Override
     public V get(Object key) {
+        if (oldChains != null) {
+            migrate(MIGRATION_CHAINS_PER_OPERATION);
+        }
         int index = getIndex(key);
         if (chains[index] != null && chains[index].containsKey(key)) {
             return chains[index].get(key);
         }
+        AbstractIterableMap<K, V> oldChain = getOldChain(key);
+        if (oldChain != null) {
+            return oldChain.get(key);
+        }
         return null;
     }
 
     @Override
     public V put(K key, V value) {
+        if (oldChains != null) {
+            migrate(MIGRATION_CHAINS_PER_OPERATION);
+        }
         if ((double) numElements / chains.length >= threshold) {
-            resize2();
+            if (Metrics.ENABLED) {
+                RESIZES.increment();
+            }
+            PhaseTimer timer = PhaseTimer.start(RESIZE_TIME);
+            if (!incrementalResize) {
+                resize2();
+            } else {
+                // finish the previous resize before starting the next one
+                migrate(Integer.MAX_VALUE);
+                startIncrementalResize();
+            }
+            PhaseTimer.stop(timer);
         }
         int index = getIndex(key);
-        if (chains[index] == null) {
-            chains[index] = createChain(chainCapacity);
+        // a key that hasn't been migrated yet moves to the new table now
+        AbstractIterableMap<K, V> oldChain = getOldChain(key);
+        if (oldChain != null && oldChain.containsKey(key)) {
+            V oldValue = oldChain.remove(key);
+            putIntoChain(chains, index, key, value);
+            return oldValue;
         }
-        V oldValue = chains[index].put(key, value);
+        V oldValue = putIntoChain(chains, index, key, value);
         if (oldValue == null) {
             numElements++;
+            if (Metrics.ENABLED) {
+                CHAIN_LENGTH.record(chains[index].size());
+            }
         }
         return oldValue;
     }
 
+    private void startIncrementalResize() {
+        oldChains = chains;
+        chains = createArrayOfChains(chains.length * 2);
+        migrationIndex = 0;
+    }
+
+    // moves up to maxChains chains from the old table into the current one
+    private void migrate(int maxChains) {
+        for (int moved = 0; moved < maxChains && oldChains != null; moved++) {
+            AbstractIterableMap<K, V> chain = oldChains[migrationIndex];
+            if (chain != null) {
+                for (Map.Entry<K, V> entry : chain) {
+                    putIntoChain(chains, getIndex(entry.getKey()), entry.getKey(), entry.getValue());
+                }
+                oldChains[migrationIndex] = null;
+            }
+            migrationIndex++;
+            if (migrationIndex == oldChains.length) {
+                oldChains = null;
+            }
+        }
+    }
+
+    // puts the entry into the chain at the given index of the given table, creating the chain if
+    // needed and converting it to a sorted chain once it is too long
+    private V putIntoChain(AbstractIterableMap<K, V>[] table, int index, K key, V value) {
+        AbstractIterableMap<K, V> chain = table[index];
+        if (chain == null) {
+            chain = createChain(chainCapacity);
+            table[index] = chain;
+        }
+        V oldValue = chain.put(key, value);
+        if (chain.size() > treeifyThreshold && !(chain instanceof SortedChainMap)) {
+            table[index] = SortedChainMap.copyOf(chain);
+        }
+        return oldValue;
+    }
+
+    // returns the not-yet-migrated old chain that the key hashes to, or null if there is none
+    private AbstractIterableMap<K, V> getOldChain(Object key) {
+        if (oldChains == null) {
+            return null;
+        }
+        return oldChains[getIndex(key, oldChains.length)];
+    }
+
     private void resize() {
         int newCapacity = chains.length * 2;
         AbstractIterableMap<K, V>[] newChains = this.createArrayOfChains(newCapacity);
@@ -120,8 +256,7 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
             if (chain != null) {
                 for (K key : chain.keySet()) {
                     V value = chain.get(key);
-                    int newChainIndex = Math.abs((key == null ? 0 : key.hashCode())) % newCapacity;
-                    newChains[newChainIndex].put(key, value);
+                    putIntoChain(newChains, getIndex(key, newCapacity), key, value);
                 }
             }
         }
@@ -138,20 +273,23 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
             K key = entry.getKey();
             V value = entry.getValue();
 
-            int newIndex = Math.abs((key == null ? 0 : key.hashCode())) % newCapacity;
-            if (newChains[newIndex] == null) {
-                newChains[newIndex] = createChain(chainCapacity);
-            }
-            newChains[newIndex].put(key, value);
+            putIntoChain(newChains, getIndex(key, newCapacity), key, value);
         }
         this.chains = newChains;
     }
 
     @Override
     public V remove(Object key) {
+        if (oldChains != null) {
+            migrate(MIGRATION_CHAINS_PER_OPERATION);
+        }
         int index = getIndex(key);
-        if (chains[index] != null) {
-            V removedValue = chains[index].remove(key);
+        AbstractIterableMap<K, V> chain = chains[index];
+        if (chain == null || !chain.containsKey(key)) {
+            chain = getOldChain(key);
+        }
+        if (chain != null) {
+            V removedValue = chain.remove(key);
             if (removedValue != null) {
                 numElements--;
             }
@@ -164,12 +302,21 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     public void clear() {
         numElements = 0;
         chains = createArrayOfChains(chains.length);
+        oldChains = null;
+        migrationIndex = 0;
     }
 
     @Override
     public boolean containsKey(Object key) {
+        if (oldChains != null) {
+            migrate(MIGRATION_CHAINS_PER_OPERATION);
+        }
         int index = getIndex(key);
-        return chains[index] != null && chains[index].containsKey(key);
+        if (chains[index] != null && chains[index].containsKey(key)) {
+            return true;
+        }
+        AbstractIterableMap<K, V> oldChain = getOldChain(key);
+        return oldChain != null && oldChain.containsKey(key);
     }
 
     @Override
@@ -178,16 +325,24 @@ public class ChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
     }
 
     private int getIndex(Object key) {
+        return getIndex(key, chains.length);
+    }
+
+    // chainCount is always a power of two, so masking picks the low bits of the spread hash
+    private static int getIndex(Object key, int chainCount) {
         if (key == null) {
             return 0;
         }
         int hashCode = key.hashCode();
-        return Math.abs(hashCode) % chains.length;
+        // fold the high bits in, so keys that only differ above the mask still spread out
+        hashCode ^= hashCode >>> 16;
+        return hashCode & (chainCount - 1);
     }
 
     @Override
     public Iterator<Map.Entry<K, V>> iterator() {
         // Note: you won't need to change this method (unless you add more constructor parameters)
+        migrate(Integer.MAX_VALUE);
         return new ChainedHashMapIterator<>(this.chains);
     }
 
@@ -0,0 +1,87 @@
+package maps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ChainedHashMap} with incremental resizing.
+ */
+public class ChainedHashMapTests {
+    private static ChainedHashMap<Integer, Integer> incremental() {
+        return new ChainedHashMap<>(1, 1, 4, true);
+    }
+
+    // the number of entries in the current table, ignoring any chains not yet migrated
+    private static int entriesInCurrentTable(ChainedHashMap<Integer, Integer> map) {
+        int entries = 0;
+        for (AbstractIterableMap<Integer, Integer> chain : map.chains) {
+            if (chain != null) {
+                entries += chain.size();
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    void reads_finishMigration() {
+        ChainedHashMap<Integer, Integer> map = incremental();
+        // 513 entries in a map with threshold 1 start a resize from 512 to 1024 chains on the last put
+        for (int i = 0; i <= 512; i++) {
+            map.put(i, i);
+        }
+        assertTrue(entriesInCurrentTable(map) < map.size());
+        for (int i = 0; i < 512; i++) {
+            assertEquals(i, map.get(i));
+            assertTrue(map.containsKey(i));
+        }
+        assertEquals(map.size(), entriesInCurrentTable(map));
+    }
+
+    @Test
+    void readsWhileIterating_visitEveryEntryOnce() {
+        ChainedHashMap<Integer, Integer> map = incremental();
+        for (int i = 0; i <= 512; i++) {
+            map.put(i, i);
+        }
+        Set<Integer> seen = new HashSet<>();
+        for (Map.Entry<Integer, Integer> entry : map) {
+            assertTrue(seen.add(entry.getKey()), "Iterated twice over " + entry.getKey());
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+            map.containsKey(-entry.getKey());
+        }
+        assertEquals(513, seen.size());
+    }
+
+    @Test
+    void randomOperations_matchHashMap() {
+        Random random = new Random(373);
+        ChainedHashMap<Integer, Integer> map = incremental();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(5000);
+            int operation = random.nextInt(4);
+            if (operation == 0 || operation == 1) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else if (operation == 2) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Map<Integer, Integer> iterated = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : map) {
+            iterated.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(expected, iterated);
+    }
+}
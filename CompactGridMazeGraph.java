@@ -0,0 +1,229 @@
+package mazes.logic;
+
+import graphs.BoundedIntegerWeightGraph;
+import graphs.Edge;
+import graphs.KruskalGraph;
+import graphs.VersionedGraph;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A rectangular grid maze stored as a bitset of walls, with adjacency derived on the fly.
+ *
+ * Rooms are the int ids {@code row * width + column}. Each room owns two bits: whether there is a
+ * wall on its east side and whether there is one on its south side (the north and west walls
+ * belong to the neighbors). That is about one bit per wall, instead of a {@code Room}, a
+ * {@code Wall} and an edge object each. Nothing else is stored: {@link #outgoingEdgesFrom},
+ * {@link #allVertices} and {@link #allEdges} compute their results from the bits when called.
+ *
+ * The bits normally live in heap arrays, but {@link BinaryMazeFormat} can also back the graph
+ * directly with a memory-mapped file. Room ids are ints, so a grid has at most
+ * {@code Integer.MAX_VALUE} rooms; {@link LargeGridMazeGraph} is the same grid with long ids.
+ *
+ * Edges join neighboring rooms with no wall between them, in both directions, with weight 1.
+ * Because the graph implements {@link KruskalGraph}, {@link BoundedIntegerWeightGraph} and
+ * {@link VersionedGraph}, the existing shortest path and minimum spanning tree finders run on it
+ * unchanged (and a Dijkstra finder constructed with {@code MinPQType.MONOTONE_INTEGER} uses a
+ * bucket queue for it).
+ */
+public class CompactGridMazeGraph implements KruskalGraph<Integer, Edge<Integer>>,
+    BoundedIntegerWeightGraph<Integer, Edge<Integer>>, VersionedGraph<Integer, Edge<Integer>> {
+    private static final int EAST = GridWalls.EAST;
+    private static final int SOUTH = GridWalls.SOUTH;
+
+    private final int width;
+    private final int height;
+    private final GridWalls walls;
+    private long version;
+
+    /**
+     * Constructs a new grid of the given size.
+     *
+     * @param allWallsPresent true to start with every wall in place (no edges), as when carving by
+     *                        removing walls; false to start with none (every neighbor adjacent),
+     *                        as when building a spanning tree over the full grid
+     */
+    public CompactGridMazeGraph(int width, int height, boolean allWallsPresent) {
+        this(width, height, newWalls(width, height, allWallsPresent));
+    }
+
+    /**
+     * Constructs a grid over existing wall bits, without copying them.
+     */
+    CompactGridMazeGraph(int width, int height, WallBits bits) {
+        checkSize(width, height);
+        this.width = width;
+        this.height = height;
+        this.walls = new GridWalls(width, height, bits);
+        this.version = 0;
+    }
+
+    private static WallBits newWalls(int width, int height, boolean allWallsPresent) {
+        checkSize(width, height);
+        return WallBits.allocate(GridWalls.wordCount(width, height), allWallsPresent);
+    }
+
+    static void checkSize(int width, long height) {
+        if (width <= 0 || height <= 0 || width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid size: " + width + " x " + height);
+        }
+    }
+
+    // the walls, for serialization
+    GridWalls walls() {
+        return walls;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int roomCount() {
+        return width * height;
+    }
+
+    // Returns the id of the room at the given row and column.
+    public int roomAt(int row, int column) {
+        if (row < 0 || row >= height || column < 0 || column >= width) {
+            throw new IllegalArgumentException("No room at (" + row + ", " + column + ")");
+        }
+        return row * width + column;
+    }
+
+    /**
+     * Returns true if there is a wall between the two given neighboring rooms.
+     */
+    public boolean hasWallBetween(int room1, int room2) {
+        return walls.hasWallBetween(room1, room2);
+    }
+
+    /**
+     * Adds or removes the wall between the two given neighboring rooms.
+     *
+     * @throws java.nio.ReadOnlyBufferException if the graph is backed by a read-only mapping
+     */
+    public void setWallBetween(int room1, int room2, boolean present) {
+        walls.setWallBetween(room1, room2, present);
+        version++;
+    }
+
+    @Override
+    public Collection<Edge<Integer>> outgoingEdgesFrom(Integer vertex) {
+        int room = vertex;
+        checkRoom(room);
+        int row = room / width;
+        int column = room % width;
+        List<Edge<Integer>> edges = new ArrayList<>(4);
+        if (walls.isPassage(room, EAST)) {
+            edges.add(new Edge<>(room, room + 1, 1));
+        }
+        if (walls.isPassage(room, SOUTH)) {
+            edges.add(new Edge<>(room, room + width, 1));
+        }
+        if (column > 0 && walls.isPassage(room - 1, EAST)) {
+            edges.add(new Edge<>(room, room - 1, 1));
+        }
+        if (row > 0 && walls.isPassage(room - width, SOUTH)) {
+            edges.add(new Edge<>(room, room - width, 1));
+        }
+        return edges;
+    }
+
+    /**
+     * Returns a view of every room id; nothing is stored per room.
+     */
+    @Override
+    public Collection<Integer> allVertices() {
+        return new AbstractList<Integer>() {
+            @Override
+            public Integer get(int index) {
+                checkRoom(index);
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return roomCount();
+            }
+        };
+    }
+
+    /**
+     * Returns a view of every edge, once per pair of adjacent rooms (from the lower id to the
+     * higher). Edges are created as the view is iterated.
+     */
+    @Override
+    public Collection<Edge<Integer>> allEdges() {
+        return new AbstractCollection<Edge<Integer>>() {
+            @Override
+            public Iterator<Edge<Integer>> iterator() {
+                return new PassageIterator();
+            }
+
+            @Override
+            public int size() {
+                int count = 0;
+                for (int room = 0; room < roomCount(); room++) {
+                    for (int side = EAST; side <= SOUTH; side++) {
+                        if (walls.isPassage(room, side)) {
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public int maxEdgeWeight() {
+        return 1;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    private void checkRoom(int room) {
+        walls.checkRoom(room);
+    }
+
+    private class PassageIterator implements Iterator<Edge<Integer>> {
+        // the next (room, side) pair to examine, encoded as a bit index
+        private long next;
+
+        PassageIterator() {
+            this.next = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next < 2L * roomCount() && !walls.isPassage(next >>> 1, (int) (next & 1))) {
+                next++;
+            }
+            return next < 2L * roomCount();
+        }
+
+        @Override
+        public Edge<Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int room = (int) (next >>> 1);
+            int neighbor = (next & 1) == EAST ? room + 1 : room + width;
+            next++;
+            return new Edge<>(room, neighbor, 1);
+        }
+    }
+}
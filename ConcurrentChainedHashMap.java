@@ -0,0 +1,345 @@
+package maps;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe chained hash map with striped locks and lock-free reads.
+ *
+ * Each chain is an immutable array-backed list of entries. Writers lock the stripe that owns a
+ * chain, build a modified copy of it and publish the copy into the table; readers just read the
+ * current table and chain without locking, so they always see a complete chain. A resize takes
+ * every stripe lock (in order), so it waits for in-flight writes, but readers keep using the old
+ * table, which stays valid, until the new one is published.
+ *
+ * Like {@link java.util.concurrent.ConcurrentHashMap}, this map does not allow null keys or values,
+ * and its iterators are weakly consistent: they never throw
+ * {@link java.util.ConcurrentModificationException}, and reflect the table as of some moment at
+ * or after their creation.
+ *
+ * @see AbstractIterableMap
+ * @see Map
+ */
+public class ConcurrentChainedHashMap<K, V> extends AbstractIterableMap<K, V> {
+    private static final double DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD = 2;
+    private static final int DEFAULT_INITIAL_CHAIN_COUNT = 16;
+    private static final int DEFAULT_STRIPE_COUNT = 16;
+    private static final int MAX_CHAIN_COUNT = 1 << 30;
+
+    private final double threshold;
+    private final ReentrantLock[] locks;
+    private final AtomicInteger numElements;
+    private volatile AtomicReferenceArray<Chain> chains;
+
+    /**
+     * Constructs a new ConcurrentChainedHashMap with default resizing load factor threshold,
+     * default initial chain count, and default stripe count.
+     */
+    public ConcurrentChainedHashMap() {
+        this(DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD, DEFAULT_INITIAL_CHAIN_COUNT, DEFAULT_STRIPE_COUNT);
+    }
+
+    /**
+     * Constructs a new ConcurrentChainedHashMap with the given parameters.
+     *
+     * @param resizingLoadFactorThreshold the load factor threshold for resizing. When the load factor
+     *                                    exceeds this value, the hash table resizes. Must be > 0.
+     * @param initialChainCount the initial number of chains, rounded up to a power of two and to at
+     *                          least the stripe count. Must be > 0.
+     * @param stripeCount the number of locks, rounded up to a power of two; at most this many
+     *                    writers can proceed at once. Must be > 0.
+     */
+    public ConcurrentChainedHashMap(double resizingLoadFactorThreshold, int initialChainCount, int stripeCount) {
+        if (resizingLoadFactorThreshold <= 0 || initialChainCount <= 0 || stripeCount <= 0
+            || initialChainCount > MAX_CHAIN_COUNT || stripeCount > MAX_CHAIN_COUNT) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+        int stripes = roundUpToPowerOfTwo(stripeCount);
+        this.threshold = resizingLoadFactorThreshold;
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.numElements = new AtomicInteger(0);
+        // with at least as many chains as stripes, every key in a chain maps to the same stripe
+        this.chains = new AtomicReferenceArray<>(Math.max(stripes, roundUpToPowerOfTwo(initialChainCount)));
+    }
+
+    @Override
+    public V get(Object key) {
+        int hash = hash(key);
+        AtomicReferenceArray<Chain> table = chains;
+        Chain chain = table.get(hash & (table.length() - 1));
+        if (chain == null) {
+            return null;
+        }
+        int index = chain.indexOf(key, hash);
+        return index < 0 ? null : chain.valueAt(index);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value);
+        int hash = hash(key);
+        ReentrantLock lock = locks[hash & (locks.length - 1)];
+        AtomicReferenceArray<Chain> table;
+        int size;
+        while (true) {
+            table = chains;
+            lock.lock();
+            try {
+                if (table != chains) {
+                    // the table was resized while we waited for the lock
+                    continue;
+                }
+                int chainIndex = hash & (table.length() - 1);
+                Chain chain = table.get(chainIndex);
+                int index = chain == null ? -1 : chain.indexOf(key, hash);
+                if (index >= 0) {
+                    V oldValue = chain.valueAt(index);
+                    table.set(chainIndex, chain.withValue(index, value));
+                    return oldValue;
+                }
+                table.set(chainIndex, Chain.append(chain, key, value, hash));
+                size = numElements.incrementAndGet();
+                break;
+            } finally {
+                lock.unlock();
+            }
+        }
+        if ((double) size / table.length() >= threshold) {
+            resize(table);
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int hash = hash(key);
+        ReentrantLock lock = locks[hash & (locks.length - 1)];
+        while (true) {
+            AtomicReferenceArray<Chain> table = chains;
+            lock.lock();
+            try {
+                if (table != chains) {
+                    continue;
+                }
+                int chainIndex = hash & (table.length() - 1);
+                Chain chain = table.get(chainIndex);
+                int index = chain == null ? -1 : chain.indexOf(key, hash);
+                if (index < 0) {
+                    return null;
+                }
+                V oldValue = chain.valueAt(index);
+                table.set(chainIndex, chain.without(index));
+                numElements.decrementAndGet();
+                return oldValue;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        lockAll();
+        try {
+            chains = new AtomicReferenceArray<>(chains.length());
+            numElements.set(0);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    @Override
+    public int size() {
+        return numElements.get();
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new ConcurrentChainedHashMapIterator(chains);
+    }
+
+    // doubles the table, unless another thread already replaced the one we saw fill up
+    private void resize(AtomicReferenceArray<Chain> expected) {
+        if (expected.length() >= MAX_CHAIN_COUNT) {
+            return;
+        }
+        lockAll();
+        try {
+            if (chains != expected) {
+                return;
+            }
+            int newCapacity = expected.length() * 2;
+            AtomicReferenceArray<Chain> newChains = new AtomicReferenceArray<>(newCapacity);
+            for (int i = 0; i < expected.length(); i++) {
+                Chain chain = expected.get(i);
+                if (chain != null) {
+                    for (int j = 0; j < chain.hashes.length; j++) {
+                        int newIndex = chain.hashes[j] & (newCapacity - 1);
+                        newChains.set(newIndex, Chain.append(newChains.get(newIndex),
+                            chain.keys[j], chain.values[j], chain.hashes[j]));
+                    }
+                }
+            }
+            // publishing the new table is the only thing readers ever see of the resize
+            chains = newChains;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // locks are always taken in index order, so two threads locking everything can't deadlock
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int roundUpToPowerOfTwo(int n) {
+        return n == 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    // an immutable chain of entries; every modification returns a new chain
+    private static class Chain {
+        private final Object[] keys;
+        private final Object[] values;
+        private final int[] hashes;
+
+        Chain(Object[] keys, Object[] values, int[] hashes) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+        }
+
+        static Chain append(Chain chain, Object key, Object value, int hash) {
+            int length = chain == null ? 0 : chain.hashes.length;
+            Object[] keys = new Object[length + 1];
+            Object[] values = new Object[length + 1];
+            int[] hashes = new int[length + 1];
+            if (chain != null) {
+                System.arraycopy(chain.keys, 0, keys, 0, length);
+                System.arraycopy(chain.values, 0, values, 0, length);
+                System.arraycopy(chain.hashes, 0, hashes, 0, length);
+            }
+            keys[length] = key;
+            values[length] = value;
+            hashes[length] = hash;
+            return new Chain(keys, values, hashes);
+        }
+
+        int indexOf(Object key, int hash) {
+            for (int i = 0; i < hashes.length; i++) {
+                if (hashes[i] == hash && key.equals(keys[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> V valueAt(int index) {
+            return (V) values[index];
+        }
+
+        Chain withValue(int index, Object value) {
+            Object[] newValues = values.clone();
+            newValues[index] = value;
+            return new Chain(keys, newValues, hashes);
+        }
+
+        // returns the chain without the entry at the given index, or null if that was the last one
+        Chain without(int index) {
+            int length = hashes.length - 1;
+            if (length == 0) {
+                return null;
+            }
+            Object[] newKeys = new Object[length];
+            Object[] newValues = new Object[length];
+            int[] newHashes = new int[length];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(hashes, 0, newHashes, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, length - index);
+            System.arraycopy(values, index + 1, newValues, index, length - index);
+            System.arraycopy(hashes, index + 1, newHashes, index, length - index);
+            return new Chain(newKeys, newValues, newHashes);
+        }
+    }
+
+    private class ConcurrentChainedHashMapIterator implements Iterator<Map.Entry<K, V>> {
+        private final AtomicReferenceArray<Chain> table;
+        private int chainIndex;
+        private Chain currentChain;
+        private int entryIndex;
+
+        ConcurrentChainedHashMapIterator(AtomicReferenceArray<Chain> table) {
+            this.table = table;
+            this.chainIndex = 0;
+            this.currentChain = null;
+            this.entryIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (currentChain == null || entryIndex >= currentChain.hashes.length) {
+                if (chainIndex >= table.length()) {
+                    return false;
+                }
+                // each chain is read once; the snapshot we get is immutable
+                currentChain = table.get(chainIndex++);
+                entryIndex = 0;
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            K key = (K) currentChain.keys[entryIndex];
+            V value = currentChain.valueAt(entryIndex);
+            entryIndex++;
+            return new WriteThroughEntry(key, value);
+        }
+    }
+
+    // setValue also puts the new value into the map
+    private class WriteThroughEntry extends SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        WriteThroughEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
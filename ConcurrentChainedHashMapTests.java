@@ -0,0 +1,155 @@
+package maps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Multi-threaded tests for {@link ConcurrentChainedHashMap}.
+ */
+public class ConcurrentChainedHashMapTests {
+    private static final int WRITERS = 8;
+    private static final int KEYS_PER_WRITER = 20000;
+
+    // each writer owns a disjoint range of keys: it puts every key, overwrites the even ones and
+    // removes every third, checking its own keys as it goes
+    private static void write(ConcurrentChainedHashMap<Integer, Integer> map, int writer) {
+        int first = writer * KEYS_PER_WRITER;
+        for (int key = first; key < first + KEYS_PER_WRITER; key++) {
+            assertNull(map.put(key, key));
+            assertEquals(key, map.get(key));
+        }
+        for (int key = first; key < first + KEYS_PER_WRITER; key++) {
+            if (key % 2 == 0) {
+                assertEquals(key, map.put(key, -key));
+            }
+        }
+        for (int key = first; key < first + KEYS_PER_WRITER; key++) {
+            if (key % 3 == 0) {
+                assertEquals(key % 2 == 0 ? -key : key, map.remove(key));
+                assertFalse(map.containsKey(key));
+            }
+        }
+        for (int key = first; key < first + KEYS_PER_WRITER; key++) {
+            assertEquals(expectedValue(key), map.get(key));
+        }
+    }
+
+    private static Integer expectedValue(int key) {
+        if (key % 3 == 0) {
+            return null;
+        }
+        return key % 2 == 0 ? -key : key;
+    }
+
+    // iterates over the map while it is being written, checking that no key is seen twice and that
+    // every value is one a writer could have put
+    private static int iterateUntil(ConcurrentChainedHashMap<Integer, Integer> map, AtomicBoolean done) {
+        int passes = 0;
+        while (!done.get()) {
+            Set<Integer> seen = new HashSet<>();
+            for (Map.Entry<Integer, Integer> entry : map) {
+                int key = entry.getKey();
+                assertTrue(seen.add(key), "Iterated twice over " + key);
+                int value = entry.getValue();
+                assertTrue(value == key || value == -key);
+            }
+            passes++;
+        }
+        return passes;
+    }
+
+    @Test
+    void concurrentWritersThroughResizes_leaveConsistentMap() throws Exception {
+        // the smallest table the stripes allow and a low threshold, so the writers force many resizes
+        ConcurrentChainedHashMap<Integer, Integer> map = new ConcurrentChainedHashMap<>(0.75, 1, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        try {
+            AtomicBoolean done = new AtomicBoolean(false);
+            Future<Integer> reader = executor.submit(() -> iterateUntil(map, done));
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int id = writer;
+                writers.add(executor.submit(() -> write(map, id)));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            done.set(true);
+            assertTrue(reader.get() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int key = 0; key < WRITERS * KEYS_PER_WRITER; key++) {
+            Integer value = expectedValue(key);
+            if (value != null) {
+                expected.put(key, value);
+            }
+            assertEquals(value, map.get(key));
+        }
+        assertEquals(expected.size(), map.size());
+        Map<Integer, Integer> iterated = new HashMap<>();
+        for (Map.Entry<Integer, Integer> entry : map) {
+            assertNull(iterated.put(entry.getKey(), entry.getValue()));
+        }
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void concurrentWritersOnSameKeys_countEachKeyOnce() throws Exception {
+        // every writer puts and removes the same keys, so size() must still match the final contents
+        ConcurrentChainedHashMap<Integer, Integer> map = new ConcurrentChainedHashMap<>(0.75, 1, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                writers.add(executor.submit(() -> {
+                    for (int key = 0; key < KEYS_PER_WRITER; key++) {
+                        map.put(key, key);
+                    }
+                    for (int key = 0; key < KEYS_PER_WRITER; key += 2) {
+                        map.remove(key);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // a writer may put an even key back after another removed it, so count what is actually there
+        int present = 0;
+        for (int key = 0; key < KEYS_PER_WRITER; key++) {
+            if (map.containsKey(key)) {
+                assertEquals(key, map.get(key));
+                present++;
+            } else {
+                assertEquals(0, key % 2);
+            }
+        }
+        assertEquals(present, map.size());
+        int iterated = 0;
+        for (Map.Entry<Integer, Integer> entry : map) {
+            iterated++;
+        }
+        assertEquals(present, iterated);
+    }
+}
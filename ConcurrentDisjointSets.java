@@ -0,0 +1,236 @@
+package disjointsets;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free disjoint sets data structure that any number of threads may use at once.
+ *
+ * Parents live in {@link AtomicIntegerArray}s; roots are their own parent. Sets are linked by
+ * randomized index: every id has a fixed pseudo-random priority, and a union always links the
+ * root with the lower priority under the other one. Priorities therefore strictly increase along
+ * every path, which bounds {@code find} by the number of elements regardless of what other threads
+ * do (it is wait-free), and gives expected logarithmic depth. {@code find} also halves paths with
+ * compare-and-set; losing such a race is harmless, since both values point at an ancestor.
+ * {@code union} retries its linking compare-and-set until it wins or finds the two elements
+ * already joined.
+ *
+ * While other threads are calling {@code union}, the ids returned by {@link #findSet(Object)}
+ * and {@link #find(int)} may stop being roots at any moment. Use {@link #connected(int, int)}
+ * to ask whether two elements are in the same set.
+ *
+ * The structure grows as sets are added. Parents are split over segments that double in size, and
+ * a segment never moves once it is allocated, so growing can't lose another thread's
+ * compare-and-set. A new segment is fully initialized before any of its ids are handed out.
+ *
+ * @see DisjointSets for more documentation.
+ */
+public class ConcurrentDisjointSets<T> implements DisjointSets<T> {
+    private static final int FIRST_SEGMENT_SIZE = 1 << 6;
+    private static final int SEGMENT_COUNT = 25;
+    // the number of ids the segments hold together, just under Integer.MAX_VALUE
+    private static final int MAX_CAPACITY = FIRST_SEGMENT_SIZE * ((1 << SEGMENT_COUNT) - 1);
+
+    // segment k holds the parents of FIRST_SEGMENT_SIZE * 2^k consecutive ids; unallocated
+    // segments are null
+    private final AtomicReferenceArray<AtomicIntegerArray> segments;
+    private final AtomicInteger size;
+    private final Map<T, Integer> itemIndex;
+
+    public ConcurrentDisjointSets() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new, empty structure with room for the given number of elements before growing.
+     *
+     * @param initialCapacity Must be >= 0.
+     */
+    public ConcurrentDisjointSets(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.segments = new AtomicReferenceArray<>(SEGMENT_COUNT);
+        this.size = new AtomicInteger(0);
+        this.itemIndex = new ConcurrentHashMap<>();
+        ensureCapacity(Math.min(initialCapacity, MAX_CAPACITY));
+    }
+
+    @Override
+    public void makeSet(T item) {
+        itemIndex.computeIfAbsent(item, k -> makeSets(1));
+    }
+
+    @Override
+    public int findSet(T item) {
+        return find(indexOf(item));
+    }
+
+    @Override
+    public boolean union(T item1, T item2) {
+        return union(indexOf(item1), indexOf(item2));
+    }
+
+    /**
+     * Returns true if the two items are in the same set.
+     */
+    public boolean connected(T item1, T item2) {
+        return connected(indexOf(item1), indexOf(item2));
+    }
+
+    /**
+     * Adds {@code count} new singleton sets and returns the id of the first one; the rest follow
+     * consecutively.
+     */
+    public int makeSets(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be non-negative");
+        }
+        while (true) {
+            int first = size.get();
+            if (count > MAX_CAPACITY - first) {
+                throw new IllegalStateException("Too many elements");
+            }
+            // before the ids are published, so that nobody can see an id without its parent
+            ensureCapacity(first + count);
+            if (size.compareAndSet(first, first + count)) {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the root of the set containing the given id, as of some moment during the call.
+     */
+    public int find(int id) {
+        checkId(id);
+        while (true) {
+            int parent = parent(id);
+            if (parent == id) {
+                return id;
+            }
+            int grandparent = parent(parent);
+            if (grandparent == parent) {
+                return parent;
+            }
+            // path halving; if another thread got here first, its value is just as good
+            compareAndSetParent(id, parent, grandparent);
+            id = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing the two given ids. Returns false if they were already in the same set.
+     */
+    public boolean union(int id1, int id2) {
+        while (true) {
+            int root1 = find(id1);
+            int root2 = find(id2);
+            if (root1 == root2) {
+                return false;
+            }
+            if (isLowerPriority(root2, root1)) {
+                int temp = root1;
+                root1 = root2;
+                root2 = temp;
+            }
+            // fails if root1 stopped being a root since we found it; then look again
+            if (compareAndSetParent(root1, root1, root2)) {
+                return true;
+            }
+            id1 = root1;
+            id2 = root2;
+        }
+    }
+
+    /**
+     * Returns true if the two ids are in the same set.
+     */
+    public boolean connected(int id1, int id2) {
+        while (true) {
+            int root1 = find(id1);
+            int root2 = find(id2);
+            if (root1 == root2) {
+                return true;
+            }
+            // if root1 is still a root, then root2 was not in its set at the moment we checked
+            if (parent(root1) == root1) {
+                return false;
+            }
+            id1 = root1;
+            id2 = root2;
+        }
+    }
+
+    /**
+     * Returns the number of elements (not sets) in this structure.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private int parent(int id) {
+        int segment = segmentOf(id);
+        return segments.get(segment).get(id - segmentStart(segment));
+    }
+
+    private boolean compareAndSetParent(int id, int expected, int parent) {
+        int segment = segmentOf(id);
+        return segments.get(segment).compareAndSet(id - segmentStart(segment), expected, parent);
+    }
+
+    // allocates every missing segment that holds an id below the given capacity. Racing threads may
+    // both build a segment, but only the first one stored is ever used.
+    private void ensureCapacity(int capacity) {
+        if (capacity == 0) {
+            return;
+        }
+        for (int segment = 0; segment <= segmentOf(capacity - 1); segment++) {
+            if (segments.get(segment) == null) {
+                int start = segmentStart(segment);
+                AtomicIntegerArray parents = new AtomicIntegerArray(FIRST_SEGMENT_SIZE << segment);
+                for (int i = 0; i < parents.length(); i++) {
+                    parents.set(i, start + i);
+                }
+                segments.compareAndSet(segment, null, parents);
+            }
+        }
+    }
+
+    private static int segmentOf(int id) {
+        return 31 - Integer.numberOfLeadingZeros(id / FIRST_SEGMENT_SIZE + 1);
+    }
+
+    // the first id in the given segment
+    private static int segmentStart(int segment) {
+        return FIRST_SEGMENT_SIZE * ((1 << segment) - 1);
+    }
+
+    // compares the fixed pseudo-random priorities of two ids; ties are impossible since the mixing
+    // function is a bijection
+    private static boolean isLowerPriority(int id1, int id2) {
+        return priority(id1) < priority(id2);
+    }
+
+    private static int priority(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(T item) {
+        Integer index = itemIndex.get(item);
+        if (index == null) {
+            throw new IllegalArgumentException(item + " does not exist.");
+        }
+        return index;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size.get()) {
+            throw new IllegalArgumentException("Id " + id + " does not exist.");
+        }
+    }
+}
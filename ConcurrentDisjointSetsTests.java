@@ -0,0 +1,54 @@
+package disjointsets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link ConcurrentDisjointSets} growing while several threads use it.
+ */
+public class ConcurrentDisjointSetsTests {
+    @Test
+    void growsWhileThreadsAddAndUnion() throws InterruptedException {
+        ConcurrentDisjointSets<Integer> sets = new ConcurrentDisjointSets<>();
+        int root = sets.makeSets(1);
+        int perThread = 20000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    int id = sets.makeSets(1);
+                    sets.union(root, id);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1 + 8 * perThread, sets.size());
+        for (int id = 0; id < sets.size(); id++) {
+            assertTrue(sets.connected(root, id));
+        }
+    }
+
+    @Test
+    void itemsSpanSeveralSegments() {
+        ConcurrentDisjointSets<Integer> sets = new ConcurrentDisjointSets<>(10);
+        for (int i = 0; i < 1000; i++) {
+            sets.makeSet(i);
+        }
+        for (int i = 0; i + 2 < 1000; i++) {
+            sets.union(i, i + 2);
+        }
+        assertTrue(sets.connected(0, 998));
+        assertTrue(sets.connected(1, 999));
+        assertFalse(sets.connected(0, 999));
+    }
+}
@@ -0,0 +1,43 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named count that any number of threads may add to at once.
+ *
+ * @see Metrics
+ */
+public class Counter {
+    private final String name;
+    private final LongAdder sum;
+
+    Counter(String name) {
+        this.name = name;
+        this.sum = new LongAdder();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void increment() {
+        sum.increment();
+    }
+
+    public void add(long amount) {
+        sum.add(amount);
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    void reset() {
+        sum.reset();
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + sum();
+    }
+}
@@ -0,0 +1,24 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+/**
+ * The current value of a {@link Counter}, emitted periodically.
+ */
+@Name("mazes.Counter")
+@Label("Counter")
+@Category("Mazes")
+@Description("The running total of a counter")
+@Period("1 s")
+class CounterEvent extends Event {
+    @Label("Name")
+    String name;
+
+    @Label("Value")
+    long value;
+}
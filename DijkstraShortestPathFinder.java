@@ -1,9 +1,12 @@
 package graphs.shortestpaths;
 
 import graphs.BaseEdge;
+import graphs.BoundedIntegerWeightGraph;
 import graphs.Graph;
-import priorityqueues.DoubleMapMinPQ;
+import metrics.Counter;
+import metrics.Metrics;
 import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQType;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -17,25 +20,85 @@ import java.util.Map;
  */
 public class DijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>>
     extends SPTShortestPathFinder<G, V, E> {
+    private static final Counter SETTLED = Metrics.counter("DijkstraShortestPathFinder.verticesSettled");
+    private static final Counter RELAXED = Metrics.counter("DijkstraShortestPathFinder.edgesRelaxed");
+    private final MinPQType minPQType;
+
+    /**
+     * Constructs a new finder that uses {@link MinPQType#DOUBLE_MAP} priority queues.
+     */
+    public DijkstraShortestPathFinder() {
+        this(MinPQType.DOUBLE_MAP);
+    }
+
+    /**
+     * Constructs a new finder that uses priority queues of the given type.
+     *
+     * @param minPQType the queue type; {@link MinPQType#MONOTONE_INTEGER} requires non-negative
+     *                  integer edge weights, and is sized to the bound of a
+     *                  {@link BoundedIntegerWeightGraph}
+     */
+    public DijkstraShortestPathFinder(MinPQType minPQType) {
+        if (minPQType == null) {
+            throw new IllegalArgumentException("Priority queue type must not be null");
+        }
+        this.minPQType = minPQType;
+    }
 
     protected <T> ExtrinsicMinPQ<T> createMinPQ() {
-        return new DoubleMapMinPQ<>();
         /*
-        If you have confidence in your heap implementation, you can disable the line above
-        and enable the one below.
+        If you have confidence in your heap implementation, you can pick it by passing a
+        MinPQType to the constructor instead of changing the line below.
          */
-        // return new ArrayHeapMinPQ<>();
 
         /*
         Otherwise, do not change this method.
         We override this during grading to test your code using our correct implementation so that
         you don't lose extra points if your implementation is buggy.
          */
+        return minPQType.create();
+    }
+
+    /**
+     * Returns the priority queue to use for a search over the given graph. Only when this finder
+     * was constructed with {@link MinPQType#MONOTONE_INTEGER} and the graph declares its weight
+     * bound is the queue sized to that bound; in every other case this is {@link #createMinPQ()}.
+     */
+    protected <T> ExtrinsicMinPQ<T> createMinPQ(G graph) {
+        if (minPQType == MinPQType.MONOTONE_INTEGER && graph instanceof BoundedIntegerWeightGraph) {
+            return minPQType.create(((BoundedIntegerWeightGraph<?, ?>) graph).maxEdgeWeight());
+        }
+        return createMinPQ();
+    }
+
+    /**
+     * Returns a lower bound on the distance from the given vertex to the end vertex, which is added
+     * to each vertex's priority. Plain Dijkstra has no such knowledge, so this returns 0.
+     */
+    protected double estimateRemaining(V vertex, V end) {
+        return 0.0;
+    }
+
+    /**
+     * Finds the shortest path like {@link #findShortestPath(Graph, Object, Object)}, and adds the
+     * number of vertices expanded (removed from a priority queue) along the way to the given
+     * counter. The counter belongs to the caller, so a finder can still be shared between threads.
+     */
+    public ShortestPath<V, E> findShortestPath(G graph, V start, V end, ExpansionCounter counter) {
+        return extractShortestPath(constructShortestPathsTree(graph, start, end, counter), start, end);
     }
 
     @Override
     protected Map<V, E> constructShortestPathsTree(G graph, V start, V end) {
-        ExtrinsicMinPQ<V> pQueue = createMinPQ();
+        return constructShortestPathsTree(graph, start, end, new ExpansionCounter());
+    }
+
+    /**
+     * Builds the shortest paths tree, counting expanded vertices in the given counter.
+     */
+    protected Map<V, E> constructShortestPathsTree(G graph, V start, V end, ExpansionCounter counter) {
+        int expandedCount = 0;
+        ExtrinsicMinPQ<V> pQueue = createMinPQ(graph);
         Map<V, Double> distances = new HashMap<>();
         Map<V, E> spt = new HashMap<>();
 
@@ -52,9 +115,11 @@ public class DijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends Base
         // add the start vertex to the priority queue
         pQueue.add(start, 0.0);
         distances.put(start, 0.0);
+        int relaxedCount = 0;
 
         while (!pQueue.isEmpty()) {
             V vertex = pQueue.removeMin();
+            expandedCount++;
 
             // when shortest path reached -> we're done
             if (vertex.equals(end)) {
@@ -63,6 +128,7 @@ public class DijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends Base
 
             for (E edge : graph.outgoingEdgesFrom(vertex)) {
                 V target = edge.to();
+                relaxedCount++;
 
                 if (!distances.containsKey(target)) {
                     distances.put(target, Double.POSITIVE_INFINITY);
@@ -75,14 +141,21 @@ public class DijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends Base
                     distances.put(target, newDist);
                     spt.put(target, edge);
 
+                    double priority = newDist + estimateRemaining(target, end);
                     if (pQueue.contains(target)) {
-                        pQueue.changePriority(target, newDist);
+                        pQueue.changePriority(target, priority);
                     } else {
-                        pQueue.add(target, newDist);
+                        pQueue.add(target, priority);
                     }
                 }
             }
         }
+        counter.add(expandedCount);
+        if (Metrics.ENABLED) {
+            // added once per search, so concurrent searches don't contend on every edge
+            SETTLED.add(expandedCount);
+            RELAXED.add(relaxedCount);
+        }
         return spt;
     }
 
@@ -117,4 +190,18 @@ public class DijkstraShortestPathFinder<G extends Graph<V, E>, V, E extends Base
         return new ShortestPath.Success<>(path);
     }
 
+    /**
+     * Counts the vertices expanded by one or more searches.
+     */
+    public static class ExpansionCounter {
+        private int count;
+
+        public int count() {
+            return count;
+        }
+
+        public void add(int expanded) {
+            count += expanded;
+        }
+    }
 }
@@ -0,0 +1,136 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import priorityqueues.ExtrinsicMinPQ;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Computes tables of shortest path distances between many sources and many targets.
+ *
+ * Runs one single-source search per source, in parallel on a {@link ForkJoinPool}. Each search
+ * stops as soon as every target has been settled, and only records distances, not paths, so the
+ * result is just a {@code double[][]}. Within one call, each worker thread keeps its own distance
+ * map and reuses it for every source it handles, instead of allocating one per search; the maps
+ * are dropped when the call returns. The path behind any entry
+ * can be rebuilt on demand with {@link #findShortestPath(Graph, Object, Object)}.
+ *
+ * Searches use the same priority queues as the given {@link DijkstraShortestPathFinder}, so, for
+ * example, one constructed with {@code MinPQType.MONOTONE_INTEGER} searches maze graphs with
+ * bounded integer weights using bucket queues.
+ */
+public class DistanceMatrixFinder<G extends Graph<V, E>, V, E extends BaseEdge<V, E>> {
+    private final DijkstraShortestPathFinder<G, V, E> finder;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new finder that searches on the common fork-join pool.
+     */
+    public DistanceMatrixFinder() {
+        this(new DijkstraShortestPathFinder<>(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new finder with the given parameters.
+     *
+     * @param finder picks the priority queues and rebuilds paths; it must be safe to use from
+     *               several threads at once if {@link #findShortestPath} is
+     * @param pool the pool to run the searches on
+     */
+    public DistanceMatrixFinder(DijkstraShortestPathFinder<G, V, E> finder, ForkJoinPool pool) {
+        if (finder == null || pool == null) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+        this.finder = finder;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the matrix of shortest path distances from each source to each target: entry
+     * {@code [i][j]} is the distance from {@code sources.get(i)} to {@code targets.get(j)}, or
+     * {@link Double#POSITIVE_INFINITY} if there is no path.
+     */
+    public double[][] findDistances(G graph, List<V> sources, List<V> targets) {
+        if (graph == null || sources == null || targets == null) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+        // duplicate targets share a column of the search's results
+        Map<V, Integer> columns = new HashMap<>();
+        int[] columnOf = new int[targets.size()];
+        for (int j = 0; j < targets.size(); j++) {
+            Integer column = columns.get(targets.get(j));
+            if (column == null) {
+                column = columns.size();
+                columns.put(targets.get(j), column);
+            }
+            columnOf[j] = column;
+        }
+
+        double[][] distances = new double[sources.size()][];
+        // one distance map per worker, local to this call so that it isn't kept alive afterwards
+        Map<Thread, Map<V, Double>> workspaces = new ConcurrentHashMap<>();
+        pool.submit(() -> IntStream.range(0, sources.size()).parallel().forEach(i -> {
+            Map<V, Double> workspace = workspaces.computeIfAbsent(Thread.currentThread(), t -> new HashMap<>());
+            double[] found = search(graph, sources.get(i), columns, workspace);
+            double[] row = new double[columnOf.length];
+            for (int j = 0; j < columnOf.length; j++) {
+                row[j] = found[columnOf[j]];
+            }
+            distances[i] = row;
+        })).join();
+        return distances;
+    }
+
+    /**
+     * Returns the shortest path from start to end, for when a distance in the matrix turns out to
+     * be interesting.
+     */
+    public ShortestPath<V, E> findShortestPath(G graph, V start, V end) {
+        return finder.findShortestPath(graph, start, end);
+    }
+
+    // returns the distance from start to each target, indexed by column, using the given map
+    // for the search's distances
+    private double[] search(G graph, V start, Map<V, Integer> columns, Map<V, Double> distances) {
+        double[] found = new double[columns.size()];
+        Arrays.fill(found, Double.POSITIVE_INFINITY);
+        int remaining = columns.size();
+
+        distances.clear();
+        ExtrinsicMinPQ<V> pQueue = finder.createMinPQ(graph);
+        pQueue.add(start, 0.0);
+        distances.put(start, 0.0);
+
+        while (!pQueue.isEmpty() && remaining > 0) {
+            V vertex = pQueue.removeMin();
+            double distance = distances.get(vertex);
+            Integer column = columns.get(vertex);
+            if (column != null) {
+                found[column] = distance;
+                remaining--;
+            }
+
+            for (E edge : graph.outgoingEdgesFrom(vertex)) {
+                V target = edge.to();
+                double newDist = distance + edge.weight();
+                Double oldDist = distances.get(target);
+                if (oldDist == null || newDist < oldDist) {
+                    distances.put(target, newDist);
+                    if (pQueue.contains(target)) {
+                        pQueue.changePriority(target, newDist);
+                    } else {
+                        pQueue.add(target, newDist);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,251 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+import priorityqueues.ExtrinsicMinPQ;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A shortest paths tree from a fixed start vertex that is repaired, rather than rebuilt, after
+ * edges of the graph change.
+ *
+ * The tree is built once with {@link DijkstraShortestPathFinder#constructShortestPathsTree}. After
+ * the caller edits the graph (e.g. opens or closes a wall of a maze), it reports the edit, and only
+ * the vertices whose distances can change are visited, in the style of Ramalingam and Reps:
+ * <ul>
+ *     <li>When an edge is added or gets lighter, distances can only decrease, so a Dijkstra search
+ *     runs outward from the edge's target, stopping wherever the new distance is no improvement.
+ *     <li>When a tree edge is removed or gets heavier, only the subtree below it is affected. Each
+ *     vertex of the subtree is seeded with its best distance through a vertex outside the subtree,
+ *     and a Dijkstra search restricted to the subtree settles the rest. Vertices it can't reach are
+ *     dropped from the tree.
+ *     <li>Removing or weighing down an edge outside the tree changes nothing.
+ * </ul>
+ * Either way the work is proportional to the part of the tree that changed, not to the graph.
+ *
+ * The graph must be undirected (every edge u -> v mirrored by v -> u), since a vertex's incoming
+ * edges are found as the reverses of its outgoing ones; each edit is applied in both directions.
+ */
+public class DynamicShortestPathTree<G extends Graph<V, E>, V, E extends BaseEdge<V, E>> {
+    private final DijkstraShortestPathFinder<G, V, E> finder;
+    private final G graph;
+    private final V start;
+    private final Map<V, Double> distances;
+    private final Map<V, E> spt;
+    private final Map<V, Set<V>> children;
+
+    /**
+     * Builds the shortest paths tree of the given graph from the given start vertex.
+     *
+     * @param finder builds the initial tree and provides the priority queues for repairs
+     */
+    public DynamicShortestPathTree(DijkstraShortestPathFinder<G, V, E> finder, G graph, V start) {
+        if (finder == null || graph == null || start == null) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+        this.finder = finder;
+        this.graph = graph;
+        this.start = start;
+        this.distances = new HashMap<>();
+        this.spt = new HashMap<>();
+        this.children = new HashMap<>();
+
+        for (E edge : finder.constructShortestPathsTree(graph, start, null).values()) {
+            setParent(edge.to(), edge);
+        }
+        // walk the tree down from the start to recover the distances
+        distances.put(start, 0.0);
+        Deque<V> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            V vertex = stack.pop();
+            for (V child : children.getOrDefault(vertex, Collections.emptySet())) {
+                distances.put(child, distances.get(vertex) + spt.get(child).weight());
+                stack.push(child);
+            }
+        }
+    }
+
+    public V start() {
+        return start;
+    }
+
+    /**
+     * Returns the length of the shortest path from the start to the given vertex, or
+     * {@link Double#POSITIVE_INFINITY} if it is unreachable.
+     */
+    public double distanceTo(V vertex) {
+        return distances.getOrDefault(vertex, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns the shortest path from the start to the given vertex.
+     */
+    public ShortestPath<V, E> findShortestPath(V end) {
+        return finder.extractShortestPath(spt, start, end);
+    }
+
+    /**
+     * Returns a read-only view of the tree, mapping each reachable vertex other than the start to
+     * the edge leading into it.
+     */
+    public Map<V, E> shortestPathsTree() {
+        return Collections.unmodifiableMap(spt);
+    }
+
+    /**
+     * Updates the tree after the given edge (and its reverse) has been added to the graph.
+     */
+    public void edgeInserted(E edge) {
+        edgeLightened(edge);
+        edgeLightened(ReverseEdges.reverseOf(graph, edge));
+    }
+
+    /**
+     * Updates the tree after the given edge (and its reverse) has been removed from the graph.
+     */
+    public void edgeRemoved(E edge) {
+        edgeRemoved(edge.from(), edge.to());
+        edgeRemoved(edge.to(), edge.from());
+    }
+
+    /**
+     * Updates the tree after the weight of the given edge (and its reverse) has changed in the
+     * graph. The edge must carry the new weight.
+     */
+    public void edgeReweighted(E edge) {
+        edgeReweightedOneWay(edge);
+        edgeReweightedOneWay(ReverseEdges.reverseOf(graph, edge));
+    }
+
+    private void edgeRemoved(V from, V to) {
+        if (isTreeEdge(from, to)) {
+            repairSubtree(to);
+        }
+    }
+
+    private void edgeReweightedOneWay(E edge) {
+        if (!isTreeEdge(edge.from(), edge.to())) {
+            edgeLightened(edge);
+            return;
+        }
+        double newDist = distances.get(edge.from()) + edge.weight();
+        double oldDist = distances.get(edge.to());
+        if (newDist < oldDist) {
+            edgeLightened(edge);
+        } else if (newDist == oldDist) {
+            // same tree, but keep the up-to-date edge
+            setParent(edge.to(), edge);
+        } else {
+            repairSubtree(edge.to());
+        }
+    }
+
+    // distances can only decrease, so search outward from the edge's target while they do
+    private void edgeLightened(E edge) {
+        Double fromDist = distances.get(edge.from());
+        if (fromDist == null) {
+            return;
+        }
+        ExtrinsicMinPQ<V> pQueue = finder.createMinPQ();
+        relax(pQueue, edge, fromDist, null);
+        while (!pQueue.isEmpty()) {
+            V vertex = pQueue.removeMin();
+            double dist = distances.get(vertex);
+            for (E next : graph.outgoingEdgesFrom(vertex)) {
+                relax(pQueue, next, dist, null);
+            }
+        }
+    }
+
+    // recomputes the distances of every vertex in the subtree below the given vertex
+    private void repairSubtree(V root) {
+        Set<V> affected = new HashSet<>();
+        Deque<V> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            V vertex = stack.pop();
+            affected.add(vertex);
+            for (V child : children.getOrDefault(vertex, Collections.emptySet())) {
+                stack.push(child);
+            }
+        }
+        List<V> subtree = new ArrayList<>(affected);
+        for (V vertex : subtree) {
+            distances.remove(vertex);
+            clearParent(vertex);
+        }
+
+        // seed each vertex with its best edge in from outside the subtree; those distances are final
+        ExtrinsicMinPQ<V> pQueue = finder.createMinPQ();
+        for (V vertex : subtree) {
+            for (E out : graph.outgoingEdgesFrom(vertex)) {
+                E in = ReverseEdges.reverseOf(graph, out);
+                Double fromDist = affected.contains(in.from()) ? null : distances.get(in.from());
+                if (fromDist != null) {
+                    relax(pQueue, in, fromDist, null);
+                }
+            }
+        }
+        // then settle the subtree, without leaving it
+        while (!pQueue.isEmpty()) {
+            V vertex = pQueue.removeMin();
+            double dist = distances.get(vertex);
+            for (E next : graph.outgoingEdgesFrom(vertex)) {
+                relax(pQueue, next, dist, affected);
+            }
+        }
+    }
+
+    // updates the edge's target if the edge improves on its distance, and only if it is within
+    // the given set (when there is one)
+    private void relax(ExtrinsicMinPQ<V> pQueue, E edge, double fromDist, Set<V> within) {
+        V target = edge.to();
+        if (within != null && !within.contains(target)) {
+            return;
+        }
+        double newDist = fromDist + edge.weight();
+        Double oldDist = distances.get(target);
+        if (oldDist != null && newDist >= oldDist) {
+            return;
+        }
+        distances.put(target, newDist);
+        setParent(target, edge);
+        if (pQueue.contains(target)) {
+            pQueue.changePriority(target, newDist);
+        } else {
+            pQueue.add(target, newDist);
+        }
+    }
+
+    private boolean isTreeEdge(V from, V to) {
+        E parent = spt.get(to);
+        return parent != null && parent.from().equals(from);
+    }
+
+    private void setParent(V vertex, E edge) {
+        clearParent(vertex);
+        spt.put(vertex, edge);
+        children.computeIfAbsent(edge.from(), k -> new HashSet<>()).add(vertex);
+    }
+
+    private void clearParent(V vertex) {
+        E old = spt.remove(vertex);
+        if (old != null) {
+            Set<V> siblings = children.get(old.from());
+            siblings.remove(vertex);
+            if (siblings.isEmpty()) {
+                children.remove(old.from());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package mazes.logic.carvers;
+
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Carves out a maze with Eller's algorithm, by running a {@link StreamingEllerMazeCarver} over a
+ * grid of rooms and removing the walls it chooses.
+ *
+ * The rooms must form a full rectangular grid: every room's row and column are found by ranking
+ * the distinct x and y coordinates of the room centers, and every wall must divide two rooms that
+ * are next to each other in the same row or column. Any other layout is rejected.
+ *
+ * Unlike the streaming carver, this needs every wall in memory, so it is meant for mazes drawn
+ * with the usual layouts; for mazes larger than the heap, use the streaming carver directly.
+ */
+public class EllerMazeCarver extends MazeCarver {
+    private final StreamingEllerMazeCarver carver;
+
+    public EllerMazeCarver() {
+        this.carver = new StreamingEllerMazeCarver();
+    }
+
+    public EllerMazeCarver(long seed) {
+        this.carver = new StreamingEllerMazeCarver(seed);
+    }
+
+    @Override
+    protected Set<Wall> chooseWallsToRemove(Set<Wall> walls) {
+        if (walls.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<Room> rooms = new HashSet<>();
+        TreeSet<Integer> xs = new TreeSet<>();
+        TreeSet<Integer> ys = new TreeSet<>();
+        for (Wall wall : walls) {
+            for (Room room : new Room[]{wall.getRoom1(), wall.getRoom2()}) {
+                rooms.add(room);
+                xs.add(room.getCenter().x);
+                ys.add(room.getCenter().y);
+            }
+        }
+        int width = xs.size();
+        int height = ys.size();
+        if (rooms.size() != (long) width * height) {
+            throw new IllegalArgumentException("The rooms don't form a rectangular grid");
+        }
+        Map<Integer, Integer> columns = rank(xs);
+        Map<Integer, Integer> rows = rank(ys);
+
+        // the wall to the right of and below each cell, indexed by row * width + column
+        Wall[] eastWalls = new Wall[width * height];
+        Wall[] southWalls = new Wall[width * height];
+        for (Wall wall : walls) {
+            Point center1 = wall.getRoom1().getCenter();
+            Point center2 = wall.getRoom2().getCenter();
+            int row = Math.min(rows.get(center1.y), rows.get(center2.y));
+            int column = Math.min(columns.get(center1.x), columns.get(center2.x));
+            int rowDistance = Math.abs(rows.get(center1.y) - rows.get(center2.y));
+            int columnDistance = Math.abs(columns.get(center1.x) - columns.get(center2.x));
+            if (rowDistance == 0 && columnDistance == 1) {
+                eastWalls[row * width + column] = wall;
+            } else if (rowDistance == 1 && columnDistance == 0) {
+                southWalls[row * width + column] = wall;
+            } else {
+                throw new IllegalArgumentException("A wall divides rooms that aren't neighbors in the grid");
+            }
+        }
+
+        Set<Wall> toRemove = new HashSet<>();
+        try {
+            carver.carve(width, height, (row, column, side) -> {
+                Wall[] sideWalls = side == StreamingEllerMazeCarver.Side.EAST ? eastWalls : southWalls;
+                Wall wall = sideWalls[(int) row * width + column];
+                if (wall == null) {
+                    throw new IllegalArgumentException("Neighboring rooms in the grid have no wall between them");
+                }
+                toRemove.add(wall);
+            });
+        } catch (IOException e) {
+            // the sink above never throws one
+            throw new UncheckedIOException(e);
+        }
+        return toRemove;
+    }
+
+    // maps each of the given coordinates to its index in ascending order
+    private static Map<Integer, Integer> rank(TreeSet<Integer> coordinates) {
+        Map<Integer, Integer> ranks = new HashMap<>();
+        for (int coordinate : coordinates) {
+            ranks.put(coordinate, ranks.size());
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,162 @@
+package graphs.minspantrees;
+
+import disjointsets.ConcurrentDisjointSets;
+import disjointsets.DisjointSets;
+import graphs.BaseEdge;
+import graphs.KruskalGraph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Computes minimum spanning trees using Filter-Kruskal.
+ *
+ * Instead of sorting every edge up front, the edges are quicksort-partitioned around a pivot
+ * weight. The light half is processed first; then every heavy edge whose endpoints are already
+ * connected is filtered out before the heavy half is partitioned in turn. Small partitions fall
+ * back to sort-and-scan Kruskal, and the search stops as soon as the tree has V - 1 edges, so on
+ * dense graphs most heavy edges are never sorted at all. Large partitions are partitioned and
+ * filtered on a {@link ForkJoinPool}; parallel filtering needs the thread-safe
+ * {@link ConcurrentDisjointSets} that {@link #createDisjointSets()} returns by default.
+ *
+ * Edges of equal weight are accepted in the same order as {@link KruskalMinimumSpanningTreeFinder},
+ * so both finders return the same tree.
+ *
+ * @see MinimumSpanningTreeFinder for more documentation.
+ */
+public class FilterKruskalMinimumSpanningTreeFinder<G extends KruskalGraph<V, E>, V, E extends BaseEdge<V, E>>
+    extends KruskalMinimumSpanningTreeFinder<G, V, E> {
+    // partitions at most this large are sorted and scanned directly
+    private static final int DEFAULT_BASE_CASE_SIZE = 1 << 10;
+    // partitions at least this large are partitioned in parallel
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final int baseCaseSize;
+
+    /**
+     * Constructs a new finder that partitions on the common fork-join pool.
+     */
+    public FilterKruskalMinimumSpanningTreeFinder() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BASE_CASE_SIZE);
+    }
+
+    /**
+     * Constructs a new finder with the given parameters.
+     *
+     * @param pool the pool to partition large edge lists on
+     * @param baseCaseSize partitions with at most this many edges are sorted directly. Must be > 0.
+     */
+    public FilterKruskalMinimumSpanningTreeFinder(ForkJoinPool pool, int baseCaseSize) {
+        if (pool == null || baseCaseSize <= 0) {
+            throw new IllegalArgumentException("Invalid parameters");
+        }
+        this.pool = pool;
+        this.baseCaseSize = baseCaseSize;
+    }
+
+    /**
+     * Returns the disjoint sets to build the tree with. Filtering only runs in parallel if this
+     * returns a {@link ConcurrentDisjointSets}; any other implementation is filtered sequentially.
+     */
+    @Override
+    protected DisjointSets<V> createDisjointSets() {
+        return new ConcurrentDisjointSets<>();
+    }
+
+    @Override
+    public MinimumSpanningTree<V, E> findMinimumSpanningTree(G graph) {
+        // graph with no vertices
+        if (graph.allVertices().isEmpty()) {
+            return new MinimumSpanningTree.Success<>();
+        }
+
+        DisjointSets<V> disjointSets = createDisjointSets();
+        for (V vertex : graph.allVertices()) {
+            disjointSets.makeSet(vertex);
+        }
+
+        List<E> minimumSpanningTreeEdges = new ArrayList<>();
+        int treeSize = graph.allVertices().size() - 1;
+        filterKruskal(new ArrayList<>(graph.allEdges()), disjointSets, minimumSpanningTreeEdges, treeSize);
+
+        // does MST exist
+        if (minimumSpanningTreeEdges.size() == treeSize) {
+            return new MinimumSpanningTree.Success<>(minimumSpanningTreeEdges);
+        } else {
+            return new MinimumSpanningTree.Failure<>();
+        }
+    }
+
+    private void filterKruskal(List<E> edges, DisjointSets<V> disjointSets, List<E> mstEdges, int treeSize) {
+        // the heavy half is handled by looping instead of recursing, so only light halves use stack
+        while (mstEdges.size() < treeSize && !edges.isEmpty()) {
+            if (edges.size() <= baseCaseSize) {
+                List<E> sorted = new ArrayList<>(edges);
+                sorted.sort(Comparator.comparingDouble(E::weight));
+                kruskal(sorted, disjointSets, mstEdges, treeSize);
+                return;
+            }
+
+            double pivot = choosePivot(edges);
+            Map<Integer, List<E>> parts = partition(edges, pivot);
+
+            filterKruskal(parts.getOrDefault(-1, new ArrayList<>()), disjointSets, mstEdges, treeSize);
+            // every edge in the middle partition has the pivot weight, so it is already sorted
+            kruskal(parts.getOrDefault(0, new ArrayList<>()), disjointSets, mstEdges, treeSize);
+            edges = filter(parts.getOrDefault(1, new ArrayList<>()), disjointSets);
+        }
+    }
+
+    // median of the first, middle and last weights
+    private double choosePivot(List<E> edges) {
+        double a = edges.get(0).weight();
+        double b = edges.get(edges.size() / 2).weight();
+        double c = edges.get(edges.size() - 1).weight();
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    // splits edges into lighter than (-1), equal to (0) and heavier than (1) the pivot,
+    // preserving the original order within each part
+    private Map<Integer, List<E>> partition(List<E> edges, double pivot) {
+        if (edges.size() < PARALLEL_THRESHOLD) {
+            return edges.stream().collect(Collectors.groupingBy(e -> Double.compare(e.weight(), pivot)));
+        }
+        return pool.submit(() -> edges.parallelStream()
+            .collect(Collectors.groupingBy(e -> Double.compare(e.weight(), pivot)))).join();
+    }
+
+    // drops edges whose endpoints are already connected. Other DisjointSets implementations
+    // compress paths in findSet without synchronization, so they are only filtered sequentially.
+    private List<E> filter(List<E> edges, DisjointSets<V> disjointSets) {
+        if (edges.size() >= PARALLEL_THRESHOLD && disjointSets instanceof ConcurrentDisjointSets) {
+            ConcurrentDisjointSets<V> concurrentSets = (ConcurrentDisjointSets<V>) disjointSets;
+            return pool.submit(() -> edges.parallelStream()
+                .filter(e -> !concurrentSets.connected(e.from(), e.to()))
+                .collect(Collectors.toList())).join();
+        }
+        List<E> remaining = new ArrayList<>();
+        for (E edge : edges) {
+            if (disjointSets.findSet(edge.from()) != disjointSets.findSet(edge.to())) {
+                remaining.add(edge);
+            }
+        }
+        return remaining;
+    }
+
+    // plain Kruskal over already-sorted edges, stopping once the tree is complete
+    private void kruskal(List<E> sortedEdges, DisjointSets<V> disjointSets, List<E> mstEdges, int treeSize) {
+        for (E edge : sortedEdges) {
+            if (mstEdges.size() == treeSize) {
+                return;
+            }
+            if (disjointSets.union(edge.from(), edge.to())) {
+                mstEdges.add(edge);
+            }
+        }
+    }
+}
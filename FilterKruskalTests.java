@@ -0,0 +1,53 @@
+package graphs.minspantrees;
+
+import disjointsets.DisjointSets;
+import disjointsets.UnionBySizeCompressingDisjointSets;
+import graphs.Edge;
+import mazes.logic.CompactGridMazeGraph;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link FilterKruskalMinimumSpanningTreeFinder} on grids large enough to be filtered in
+ * parallel.
+ */
+public class FilterKruskalTests {
+    private static final int SIDE = 200;
+
+    private static void assertSpanningTree(MinimumSpanningTree<Integer, Edge<Integer>> tree) {
+        assertTrue(tree.exists());
+        assertEquals(SIDE * SIDE - 1, tree.edges().size());
+        // a spanning tree has no cycles, so every edge joins two different components
+        DisjointSets<Integer> components = new UnionBySizeCompressingDisjointSets<>();
+        for (int room = 0; room < SIDE * SIDE; room++) {
+            components.makeSet(room);
+        }
+        for (Edge<Integer> edge : tree.edges()) {
+            assertTrue(components.union(edge.from(), edge.to()));
+        }
+    }
+
+    @Test
+    void findsTreeWithConcurrentSets() {
+        CompactGridMazeGraph grid = new CompactGridMazeGraph(SIDE, SIDE, false);
+        assertSpanningTree(new FilterKruskalMinimumSpanningTreeFinder<CompactGridMazeGraph, Integer, Edge<Integer>>()
+            .findMinimumSpanningTree(grid));
+    }
+
+    @Test
+    void usesOverriddenCreateDisjointSets() {
+        int[] created = new int[1];
+        FilterKruskalMinimumSpanningTreeFinder<CompactGridMazeGraph, Integer, Edge<Integer>> finder =
+            new FilterKruskalMinimumSpanningTreeFinder<>() {
+                @Override
+                protected DisjointSets<Integer> createDisjointSets() {
+                    created[0]++;
+                    return new UnionBySizeCompressingDisjointSets<>();
+                }
+            };
+        assertSpanningTree(finder.findMinimumSpanningTree(new CompactGridMazeGraph(SIDE, SIDE, false)));
+        assertEquals(1, created[0]);
+    }
+}
@@ -0,0 +1,97 @@
+package mazes.logic;
+
+/**
+ * The walls of a rectangular grid of rooms, shared by {@link CompactGridMazeGraph} and
+ * {@link LargeGridMazeGraph}.
+ *
+ * Rooms are numbered {@code row * width + column}. Each room owns two bits: whether there is a
+ * wall on its east side and whether there is one on its south side (the north and west walls
+ * belong to the neighbors).
+ */
+final class GridWalls {
+    static final int EAST = 0;
+    static final int SOUTH = 1;
+
+    private final int width;
+    private final long height;
+    private final WallBits bits;
+
+    GridWalls(int width, long height, WallBits bits) {
+        checkSize(width, height);
+        if (bits.words() < wordCount(width, height)) {
+            throw new IllegalArgumentException("Wall bitset is too small for a " + width + " x " + height + " grid");
+        }
+        this.width = width;
+        this.height = height;
+        this.bits = bits;
+    }
+
+    static void checkSize(int width, long height) {
+        // every wall needs a bit index that fits in a long
+        if (width <= 0 || height <= 0 || height > Long.MAX_VALUE / 2 / width) {
+            throw new IllegalArgumentException("Invalid grid size: " + width + " x " + height);
+        }
+    }
+
+    // the number of longs needed to hold two bits per room
+    static long wordCount(int width, long height) {
+        return (width * height + Long.SIZE / 2 - 1) / (Long.SIZE / 2);
+    }
+
+    int width() {
+        return width;
+    }
+
+    long height() {
+        return height;
+    }
+
+    long roomCount() {
+        return width * height;
+    }
+
+    WallBits bits() {
+        return bits;
+    }
+
+    boolean hasWallBetween(long room1, long room2) {
+        return bits.get(wallBit(room1, room2));
+    }
+
+    void setWallBetween(long room1, long room2, boolean present) {
+        bits.set(wallBit(room1, room2), present);
+    }
+
+    // true if the given side of the room is inside the grid and has no wall
+    boolean isPassage(long room, int side) {
+        if (side == EAST ? room % width == width - 1 : room / width == height - 1) {
+            return false;
+        }
+        return !bits.get(bit(room, side));
+    }
+
+    void checkRoom(long room) {
+        if (room < 0 || room >= roomCount()) {
+            throw new IllegalArgumentException("No room with id " + room);
+        }
+    }
+
+    // the bit of the wall between two neighboring rooms
+    private long wallBit(long room1, long room2) {
+        checkRoom(room1);
+        checkRoom(room2);
+        long low = Math.min(room1, room2);
+        long high = Math.max(room1, room2);
+        if (high == low + 1 && low % width != width - 1) {
+            return bit(low, EAST);
+        }
+        if (high == low + width) {
+            return bit(low, SOUTH);
+        }
+        throw new IllegalArgumentException("Rooms " + room1 + " and " + room2 + " are not neighbors");
+    }
+
+    private static long bit(long room, int side) {
+        return 2 * room + side;
+    }
+}
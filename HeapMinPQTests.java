@@ -0,0 +1,119 @@
+package priorityqueues;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Randomized tests for the d-ary {@link ArrayHeapMinPQ} and {@link PairingHeapMinPQ}, with
+ * {@link DoubleMapMinPQ} as the oracle.
+ */
+public class HeapMinPQTests {
+    private static final int ITEMS = 300;
+
+    // priorities are drawn from a small range so that ties are common; the oracle may break a tie
+    // differently, so removed items are checked by priority
+    private static void matchesOracle(Supplier<ExtrinsicMinPQ<Integer>> queue, long seed) {
+        Random random = new Random(seed);
+        ExtrinsicMinPQ<Integer> pq = queue.get();
+        ExtrinsicMinPQ<Integer> oracle = new DoubleMapMinPQ<>();
+        Map<Integer, Double> priorities = new HashMap<>();
+        for (int i = 0; i < 4000; i++) {
+            int item = random.nextInt(ITEMS);
+            double priority = random.nextInt(50) + (random.nextBoolean() ? 0.5 : 0);
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                if (oracle.contains(item)) {
+                    assertThrows(IllegalArgumentException.class, () -> pq.add(item, priority));
+                } else {
+                    pq.add(item, priority);
+                    oracle.add(item, priority);
+                    priorities.put(item, priority);
+                }
+            } else if (operation == 1) {
+                if (oracle.contains(item)) {
+                    pq.changePriority(item, priority);
+                    oracle.changePriority(item, priority);
+                    priorities.put(item, priority);
+                } else {
+                    assertThrows(NoSuchElementException.class, () -> pq.changePriority(item, priority));
+                }
+            } else if (oracle.isEmpty()) {
+                assertThrows(NoSuchElementException.class, pq::peekMin);
+                assertThrows(NoSuchElementException.class, pq::removeMin);
+            } else {
+                double min = priorities.get(oracle.peekMin());
+                assertEquals(min, priorities.get(pq.peekMin()));
+                int removed = pq.removeMin();
+                assertTrue(oracle.contains(removed));
+                assertEquals(min, priorities.remove(removed));
+                // take the same item out of the oracle, whichever tied item it would have chosen
+                oracle.changePriority(removed, Double.NEGATIVE_INFINITY);
+                assertEquals(removed, oracle.removeMin());
+            }
+            assertEquals(oracle.size(), pq.size());
+            assertEquals(oracle.contains(item), pq.contains(item));
+        }
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (!pq.isEmpty()) {
+            double priority = priorities.remove(pq.removeMin());
+            assertTrue(priority >= last);
+            last = priority;
+        }
+        assertTrue(priorities.isEmpty());
+    }
+
+    private static void matchesOracle(Supplier<ExtrinsicMinPQ<Integer>> queue) {
+        for (long seed = 0; seed < 10; seed++) {
+            matchesOracle(queue, seed);
+        }
+    }
+
+    @Test
+    void binaryHeap_matchesOracle() {
+        matchesOracle(() -> new ArrayHeapMinPQ<>(2));
+    }
+
+    @Test
+    void threeAryHeap_matchesOracle() {
+        matchesOracle(() -> new ArrayHeapMinPQ<>(3));
+    }
+
+    @Test
+    void fourAryHeap_matchesOracle() {
+        matchesOracle(() -> new ArrayHeapMinPQ<>(4));
+    }
+
+    @Test
+    void eightAryHeap_matchesOracle() {
+        matchesOracle(() -> new ArrayHeapMinPQ<>(8));
+    }
+
+    @Test
+    void pairingHeap_matchesOracle() {
+        matchesOracle(PairingHeapMinPQ::new);
+    }
+
+    @Test
+    void minPQTypes_matchOracle() {
+        for (MinPQType type : MinPQType.values()) {
+            if (type != MinPQType.MONOTONE_INTEGER) {
+                matchesOracle(type::create);
+            }
+        }
+    }
+
+    @Test
+    void arrayHeap_rejectsArityBelowTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrayHeapMinPQ<Integer>(1));
+    }
+}
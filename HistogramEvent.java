@@ -0,0 +1,30 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+/**
+ * A summary of a {@link Histogram}, emitted periodically.
+ */
+@Name("mazes.Histogram")
+@Label("Histogram")
+@Category("Mazes")
+@Description("The running summary of a histogram")
+@Period("1 s")
+class HistogramEvent extends Event {
+    @Label("Name")
+    String name;
+
+    @Label("Count")
+    long count;
+
+    @Label("Mean")
+    double mean;
+
+    @Label("Max")
+    long max;
+}
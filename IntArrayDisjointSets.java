@@ -0,0 +1,145 @@
+package disjointsets;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A quick-union-by-size data structure with path halving, backed by a primitive {@code int[]}.
+ *
+ * Like {@link UnionBySizeCompressingDisjointSets}, each entry holds either the index of its parent
+ * or, for roots, the negated size of its set. Unlike it, there is no boxing, the array grows
+ * geometrically, and {@code find} is iterative, so no chain can overflow the stack.
+ *
+ * Callers whose elements are already numbered 0 through n - 1 can skip the item map entirely by
+ * using the dense-id methods: {@link #makeSets(int)}, {@link #find(int)} and {@link #union(int, int)}.
+ * The two APIs share one id space: items added through {@link #makeSet(Object)} get the next
+ * unused id.
+ *
+ * @see DisjointSets for more documentation.
+ */
+public class IntArrayDisjointSets<T> implements DisjointSets<T> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private int[] pointers;
+    private int size;
+    // maps items to their id; only used by the item-based methods
+    private final Map<T, Integer> itemIndex;
+
+    public IntArrayDisjointSets() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new, empty structure with room for the given number of elements before growing.
+     *
+     * @param initialCapacity Must be >= 0.
+     */
+    public IntArrayDisjointSets(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.pointers = new int[initialCapacity];
+        this.size = 0;
+        this.itemIndex = new HashMap<>();
+    }
+
+    @Override
+    public void makeSet(T item) {
+        if (!itemIndex.containsKey(item)) {
+            itemIndex.put(item, makeSets(1));
+        }
+    }
+
+    @Override
+    public int findSet(T item) {
+        Integer index = itemIndex.get(item);
+        if (index == null) {
+            throw new IllegalArgumentException(item + " does not exist.");
+        }
+        return find(index);
+    }
+
+    @Override
+    public boolean union(T item1, T item2) {
+        return union(findSet(item1), findSet(item2));
+    }
+
+    /**
+     * Adds {@code count} new singleton sets and returns the id of the first one; the rest follow
+     * consecutively.
+     */
+    public int makeSets(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be non-negative");
+        }
+        int first = size;
+        ensureCapacity(size + count);
+        // -1 --> element is a root and the size of its set is 1
+        Arrays.fill(pointers, first, first + count, -1);
+        size += count;
+        return first;
+    }
+
+    /**
+     * Returns the id of the representative of the set containing the given id.
+     */
+    public int find(int id) {
+        checkId(id);
+        // path halving --> point every other node on the path at its grandparent
+        while (pointers[id] >= 0) {
+            int parent = pointers[id];
+            if (pointers[parent] >= 0) {
+                pointers[id] = pointers[parent];
+            }
+            id = pointers[id];
+        }
+        return id;
+    }
+
+    /**
+     * Merges the sets containing the two given ids. Returns false if they were already in the same set.
+     */
+    public boolean union(int id1, int id2) {
+        int root1 = find(id1);
+        int root2 = find(id2);
+
+        if (root1 == root2) {
+            // Already in the same set
+            return false;
+        }
+
+        // Union by size; sizes are stored negated, so the smaller value is the bigger tree
+        if (pointers[root1] <= pointers[root2]) {
+            pointers[root1] += pointers[root2];
+            pointers[root2] = root1;
+        } else {
+            pointers[root2] += pointers[root1];
+            pointers[root1] = root2;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of elements (not sets) in this structure.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity < 0 || capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many elements");
+        }
+        if (capacity > pointers.length) {
+            long newLength = Math.max(capacity, Math.max(DEFAULT_INITIAL_CAPACITY, 2L * pointers.length));
+            pointers = Arrays.copyOf(pointers, (int) Math.min(newLength, Integer.MAX_VALUE - 8));
+        }
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Id " + id + " does not exist.");
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package priorityqueues;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An indexed binary min-heap over dense int ids in the range [0, capacity).
+ *
+ * Priorities live in a {@code double[]} indexed by id, the heap itself is an {@code int[]} of ids,
+ * and a parallel {@code int[]} records each id's position in the heap (or -1 if absent). The
+ * primitive overloads ({@link #add(int, double)}, {@link #removeMinId()}, etc.) never box or hash;
+ * the {@link ExtrinsicMinPQ} methods simply unbox and delegate to them.
+ *
+ * @see ExtrinsicMinPQ
+ * @see ArrayHeapMinPQ
+ */
+public class IntArrayHeapMinPQ implements ExtrinsicMinPQ<Integer> {
+    private static final int NOT_PRESENT = -1;
+
+    private final double[] priorities;
+    private final int[] heap;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * Constructs a new, empty heap that can hold the ids 0 through {@code capacity - 1}.
+     *
+     * @param capacity the number of distinct ids. Must be >= 0.
+     */
+    public IntArrayHeapMinPQ(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.priorities = new double[capacity];
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, NOT_PRESENT);
+        this.size = 0;
+    }
+
+    // Adds an id with the given priority value.
+    public void add(int id, double priority) {
+        checkId(id);
+        if (positions[id] != NOT_PRESENT) {
+            throw new IllegalArgumentException("This item already exists in priority queue");
+        }
+        priorities[id] = priority;
+        heap[size] = id;
+        positions[id] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    // Returns true if the PQ contains the given id; false otherwise.
+    public boolean contains(int id) {
+        return id >= 0 && id < positions.length && positions[id] != NOT_PRESENT;
+    }
+
+    // Returns the id with least-valued priority.
+    public int peekMinId() {
+        if (size == 0) {
+            throw new NoSuchElementException("Priority queue is empty.");
+        }
+        return heap[0];
+    }
+
+    // Removes and returns the id with least-valued priority.
+    public int removeMinId() {
+        if (size == 0) {
+            throw new NoSuchElementException("Priority queue is empty.");
+        }
+        int minId = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        positions[minId] = NOT_PRESENT;
+        return minId;
+    }
+
+    // Returns the priority currently associated with the given id.
+    public double priorityOf(int id) {
+        if (!contains(id)) {
+            throw new NoSuchElementException("Item does not exist in the priority queue.");
+        }
+        return priorities[id];
+    }
+
+    // Changes the priority of the given id.
+    public void changePriority(int id, double priority) {
+        if (!contains(id)) {
+            throw new NoSuchElementException("Item does not exist in the priority queue.");
+        }
+        double oldPriority = priorities[id];
+        priorities[id] = priority;
+        if (priority < oldPriority) {
+            siftUp(positions[id]);
+        } else {
+            siftDown(positions[id]);
+        }
+    }
+
+    @Override
+    public void add(Integer item, double priority) {
+        add(item.intValue(), priority);
+    }
+
+    @Override
+    public boolean contains(Integer item) {
+        return item != null && contains(item.intValue());
+    }
+
+    @Override
+    public Integer peekMin() {
+        return peekMinId();
+    }
+
+    @Override
+    public Integer removeMin() {
+        return removeMinId();
+    }
+
+    @Override
+    public void changePriority(Integer item, double priority) {
+        if (item == null) {
+            throw new NoSuchElementException("Item does not exist in the priority queue.");
+        }
+        changePriority(item.intValue(), priority);
+    }
+
+    // Returns the number of items in the PQ.
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Returns true if the PQ is empty, false otherwise.
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // moves the id at the given heap index up until its parent is no larger.
+    // the moving id is held in a local and written once, instead of swapping at every level
+    private void siftUp(int index) {
+        int id = heap[index];
+        double priority = priorities[id];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int parentId = heap[parent];
+            if (priorities[parentId] <= priority) {
+                break;
+            }
+            heap[index] = parentId;
+            positions[parentId] = index;
+            index = parent;
+        }
+        heap[index] = id;
+        positions[id] = index;
+    }
+
+    // moves the id at the given heap index down until both children are no smaller
+    private void siftDown(int index) {
+        int id = heap[index];
+        double priority = priorities[id];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int childId = heap[child];
+            int right = child + 1;
+            if (right < size && priorities[heap[right]] < priorities[childId]) {
+                child = right;
+                childId = heap[right];
+            }
+            if (priority <= priorities[childId]) {
+                break;
+            }
+            heap[index] = childId;
+            positions[childId] = index;
+            index = child;
+        }
+        heap[index] = id;
+        positions[id] = index;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= positions.length) {
+            throw new IllegalArgumentException("Id " + id + " is out of range [0, " + positions.length + ")");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package priorityqueues;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Randomized tests for {@link IntArrayHeapMinPQ} against a reference queue that finds its minimum
+ * by scanning every id.
+ */
+public class IntArrayHeapMinPQTests {
+    private static final int CAPACITY = 500;
+
+    // the priority of each id in the queue, or NaN for ids not in it
+    private static final class ReferenceQueue {
+        private final double[] priorities = new double[CAPACITY];
+        private int size;
+
+        ReferenceQueue() {
+            Arrays.fill(priorities, Double.NaN);
+        }
+
+        boolean contains(int id) {
+            return !Double.isNaN(priorities[id]);
+        }
+
+        double minPriority() {
+            double min = Double.POSITIVE_INFINITY;
+            for (double priority : priorities) {
+                if (!Double.isNaN(priority)) {
+                    min = Math.min(min, priority);
+                }
+            }
+            return min;
+        }
+
+        void put(int id, double priority) {
+            if (!contains(id)) {
+                size++;
+            }
+            priorities[id] = priority;
+        }
+
+        void remove(int id) {
+            priorities[id] = Double.NaN;
+            size--;
+        }
+    }
+
+    // priorities are drawn from a small range so that ties are common
+    private static void runRandomOperations(long seed, int operations) {
+        Random random = new Random(seed);
+        IntArrayHeapMinPQ pq = new IntArrayHeapMinPQ(CAPACITY);
+        ReferenceQueue reference = new ReferenceQueue();
+        for (int i = 0; i < operations; i++) {
+            int id = random.nextInt(CAPACITY);
+            double priority = random.nextInt(100);
+            int operation = random.nextInt(3);
+            if (operation == 0) {
+                if (reference.contains(id)) {
+                    assertThrows(IllegalArgumentException.class, () -> pq.add(id, priority));
+                } else {
+                    pq.add(id, priority);
+                    reference.put(id, priority);
+                }
+            } else if (operation == 1) {
+                if (reference.contains(id)) {
+                    // through the boxed ExtrinsicMinPQ method half the time
+                    if (random.nextBoolean()) {
+                        pq.changePriority(id, priority);
+                    } else {
+                        pq.changePriority(Integer.valueOf(id), priority);
+                    }
+                    reference.put(id, priority);
+                } else {
+                    assertThrows(NoSuchElementException.class, () -> pq.changePriority(id, priority));
+                }
+            } else if (reference.size == 0) {
+                assertThrows(NoSuchElementException.class, pq::removeMinId);
+            } else {
+                double min = reference.minPriority();
+                assertEquals(min, pq.priorityOf(pq.peekMinId()));
+                int removed = random.nextBoolean() ? pq.removeMinId() : pq.removeMin();
+                assertTrue(reference.contains(removed));
+                assertEquals(min, reference.priorities[removed]);
+                reference.remove(removed);
+                assertFalse(pq.contains(removed));
+            }
+            assertEquals(reference.size, pq.size());
+            assertEquals(reference.contains(id), pq.contains(id));
+        }
+
+        // draining must give priorities in non-decreasing order
+        double last = Double.NEGATIVE_INFINITY;
+        while (!pq.isEmpty()) {
+            int removed = pq.removeMinId();
+            assertTrue(reference.priorities[removed] >= last);
+            last = reference.priorities[removed];
+            reference.remove(removed);
+        }
+        assertEquals(0, reference.size);
+    }
+
+    @Test
+    void randomOperations_matchReference() {
+        for (long seed = 0; seed < 20; seed++) {
+            runRandomOperations(seed, 5000);
+        }
+    }
+
+    @Test
+    void changePriority_movesBothWays() {
+        IntArrayHeapMinPQ pq = new IntArrayHeapMinPQ(4);
+        pq.add(0, 1);
+        pq.add(1, 2);
+        pq.add(2, 3);
+        pq.add(3, 4);
+        pq.changePriority(0, 5);
+        assertEquals(1, pq.peekMinId());
+        pq.changePriority(3, 0);
+        assertEquals(3, pq.removeMinId());
+        assertEquals(1, pq.removeMinId());
+        assertEquals(2, pq.removeMinId());
+        assertEquals(0, pq.removeMinId());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    void rejectsIdsOutOfRange() {
+        IntArrayHeapMinPQ pq = new IntArrayHeapMinPQ(3);
+        assertThrows(IllegalArgumentException.class, () -> pq.add(3, 0));
+        assertThrows(IllegalArgumentException.class, () -> pq.add(-1, 0));
+        assertFalse(pq.contains(3));
+        assertFalse(pq.contains((Integer) null));
+    }
+}
@@ -6,6 +6,9 @@ import graphs.minspantrees.MinimumSpanningTreeFinder;
 import mazes.entities.Room;
 import mazes.entities.Wall;
 import mazes.logic.MazeGraph;
+import metrics.Histogram;
+import metrics.Metrics;
+import metrics.PhaseTimer;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -17,6 +20,11 @@ import java.util.ArrayList;
  * Carves out a maze based on Kruskal's algorithm.
  */
 public class KruskalMazeCarver extends MazeCarver {
+    // nanoseconds spent in each phase of chooseWallsToRemove
+    private static final Histogram BUILD_TIME = Metrics.histogram("KruskalMazeCarver.buildTime");
+    private static final Histogram MST_TIME = Metrics.histogram("KruskalMazeCarver.mstTime");
+    private static final Histogram RECONSTRUCT_TIME = Metrics.histogram("KruskalMazeCarver.reconstructTime");
+
     MinimumSpanningTreeFinder<MazeGraph, Room, EdgeWithData<Room, Wall>> minimumSpanningTreeFinder;
     private final Random rand;
 
@@ -35,27 +43,31 @@ public class KruskalMazeCarver extends MazeCarver {
 
     @Override
     protected Set<Wall> chooseWallsToRemove(Set<Wall> walls) {
-        // create an edge representing each wall
+        // create an edge representing each wall, and a new maze graph
+        PhaseTimer timer = PhaseTimer.start(BUILD_TIME);
         Collection<EdgeWithData<Room, Wall>> edges = new ArrayList<>();
         for (Wall wall : walls) {
             double weight = rand.nextDouble();
             EdgeWithData<Room, Wall> edge = new EdgeWithData<>(wall.getRoom1(), wall.getRoom2(), weight, wall);
             edges.add(edge);
         }
-
-        // create a new maze graph, find mst
         MazeGraph maze = new MazeGraph(edges);
+        PhaseTimer.stop(timer);
+
+        // find mst (this includes sorting the edges)
+        timer = PhaseTimer.start(MST_TIME);
         MinimumSpanningTree<Room, EdgeWithData<Room, Wall>> mst =
             this.minimumSpanningTreeFinder.findMinimumSpanningTree(maze);
+        PhaseTimer.stop(timer);
 
         // add walls from MST
-        Collection<EdgeWithData<Room, Wall>> mstEdges = mst.edges();
+        timer = PhaseTimer.start(RECONSTRUCT_TIME);
         Set<Wall> toRemove = new HashSet<>();
-
-        for (EdgeWithData<Room, Wall> edge : mstEdges) {
-            Wall wall = new Wall(edge.from(), edge.to(), edge.data().getDividingLine());
-            toRemove.add(wall);
+        for (EdgeWithData<Room, Wall> edge : mst.edges()) {
+            // each edge already carries the wall it was made from
+            toRemove.add(edge.data());
         }
+        PhaseTimer.stop(timer);
 
         return toRemove;
     }
@@ -0,0 +1,124 @@
+package mazes.logic;
+
+import graphs.BoundedIntegerWeightGraph;
+import graphs.Edge;
+import graphs.VersionedGraph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A rectangular grid maze stored as a bitset of walls, like {@link CompactGridMazeGraph}, but with
+ * long room ids, so that it can have more than {@code Integer.MAX_VALUE} rooms.
+ *
+ * Rooms are the ids {@code row * width + column}, and the walls are stored exactly as in
+ * {@link CompactGridMazeGraph}, in chunks of at most 1GB. {@link BinaryMazeFormat} backs this graph
+ * with memory-mapped files of any size, so a maze can be larger than both the heap and the 2GB
+ * limit of a single mapping.
+ *
+ * A {@link java.util.Collection} can't hold more than {@code Integer.MAX_VALUE} elements, so this
+ * graph does not list all of its rooms or edges, and is not a {@link graphs.KruskalGraph}. The
+ * shortest path finders run on it unchanged.
+ */
+public class LargeGridMazeGraph implements BoundedIntegerWeightGraph<Long, Edge<Long>>,
+    VersionedGraph<Long, Edge<Long>> {
+    private final GridWalls walls;
+    private long version;
+
+    /**
+     * Constructs a new grid of the given size on the heap.
+     *
+     * @param allWallsPresent true to start with every wall in place (no edges), as when carving by
+     *                        removing walls; false to start with none (every neighbor adjacent)
+     */
+    public LargeGridMazeGraph(int width, long height, boolean allWallsPresent) {
+        this(width, height, newWalls(width, height, allWallsPresent));
+    }
+
+    /**
+     * Constructs a grid over existing wall bits, without copying them.
+     */
+    LargeGridMazeGraph(int width, long height, WallBits bits) {
+        this.walls = new GridWalls(width, height, bits);
+        this.version = 0;
+    }
+
+    private static WallBits newWalls(int width, long height, boolean allWallsPresent) {
+        GridWalls.checkSize(width, height);
+        return WallBits.allocate(GridWalls.wordCount(width, height), allWallsPresent);
+    }
+
+    // the walls, for serialization
+    GridWalls walls() {
+        return walls;
+    }
+
+    public int width() {
+        return walls.width();
+    }
+
+    public long height() {
+        return walls.height();
+    }
+
+    public long roomCount() {
+        return walls.roomCount();
+    }
+
+    // Returns the id of the room at the given row and column.
+    public long roomAt(long row, int column) {
+        if (row < 0 || row >= height() || column < 0 || column >= width()) {
+            throw new IllegalArgumentException("No room at (" + row + ", " + column + ")");
+        }
+        return row * width() + column;
+    }
+
+    /**
+     * Returns true if there is a wall between the two given neighboring rooms.
+     */
+    public boolean hasWallBetween(long room1, long room2) {
+        return walls.hasWallBetween(room1, room2);
+    }
+
+    /**
+     * Adds or removes the wall between the two given neighboring rooms.
+     *
+     * @throws java.nio.ReadOnlyBufferException if the graph is backed by a read-only mapping
+     */
+    public void setWallBetween(long room1, long room2, boolean present) {
+        walls.setWallBetween(room1, room2, present);
+        version++;
+    }
+
+    @Override
+    public Collection<Edge<Long>> outgoingEdgesFrom(Long vertex) {
+        long room = vertex;
+        walls.checkRoom(room);
+        int width = width();
+        List<Edge<Long>> edges = new ArrayList<>(4);
+        if (walls.isPassage(room, GridWalls.EAST)) {
+            edges.add(new Edge<>(room, room + 1, 1));
+        }
+        if (walls.isPassage(room, GridWalls.SOUTH)) {
+            edges.add(new Edge<>(room, room + width, 1));
+        }
+        if (room % width > 0 && walls.isPassage(room - 1, GridWalls.EAST)) {
+            edges.add(new Edge<>(room, room - 1, 1));
+        }
+        if (room >= width && walls.isPassage(room - width, GridWalls.SOUTH)) {
+            edges.add(new Edge<>(room, room - width, 1));
+        }
+        return edges;
+    }
+
+    @Override
+    public int maxEdgeWeight() {
+        return 1;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+}
@@ -0,0 +1,96 @@
+package metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The registry of the library's counters and histograms.
+ *
+ * Instrumentation is off unless the JVM is started with {@code -Dmazes.metrics=true}. Every
+ * instrumented call site checks {@link #ENABLED} first; since it is a static final constant, the
+ * JIT compiler removes the disabled branch entirely, so the instrumentation costs nothing when off.
+ *
+ * When enabled, the current value of every metric is also emitted periodically as a
+ * {@link CounterEvent} or {@link HistogramEvent}, and timed phases as {@link PhaseEvent}s, so a
+ * Flight Recorder recording of a live process includes them.
+ */
+public final class Metrics {
+    /**
+     * True if instrumentation is turned on for this JVM.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("mazes.metrics");
+
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            FlightRecorder.addPeriodicEvent(CounterEvent.class, Metrics::emitCounters);
+            FlightRecorder.addPeriodicEvent(HistogramEvent.class, Metrics::emitHistograms);
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the counter with the given name, creating it if needed.
+     */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it if needed.
+     */
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * Returns every counter, sorted by name.
+     */
+    public static Map<String, Counter> counters() {
+        return Collections.unmodifiableMap(new TreeMap<>(COUNTERS));
+    }
+
+    /**
+     * Returns every histogram, sorted by name.
+     */
+    public static Map<String, Histogram> histograms() {
+        return Collections.unmodifiableMap(new TreeMap<>(HISTOGRAMS));
+    }
+
+    /**
+     * Resets every metric to zero.
+     */
+    public static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        HISTOGRAMS.values().forEach(Histogram::reset);
+    }
+
+    private static void emitCounters() {
+        for (Counter counter : COUNTERS.values()) {
+            CounterEvent event = new CounterEvent();
+            event.name = counter.name();
+            event.value = counter.sum();
+            event.commit();
+        }
+    }
+
+    private static void emitHistograms() {
+        for (Histogram histogram : HISTOGRAMS.values()) {
+            HistogramEvent event = new HistogramEvent();
+            event.name = histogram.name();
+            event.count = histogram.count();
+            event.mean = histogram.mean();
+            event.max = histogram.max();
+            event.commit();
+        }
+    }
+}
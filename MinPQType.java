@@ -0,0 +1,74 @@
+package priorityqueues;
+
+/**
+ * The {@link ExtrinsicMinPQ} implementations that callers (e.g. shortest path finders) can pick
+ * between at construction time.
+ */
+public enum MinPQType {
+    DOUBLE_MAP {
+        @Override
+        public <T> ExtrinsicMinPQ<T> create() {
+            return new DoubleMapMinPQ<>();
+        }
+    },
+    BINARY_HEAP {
+        @Override
+        public <T> ExtrinsicMinPQ<T> create() {
+            return new ArrayHeapMinPQ<>();
+        }
+    },
+    FOUR_ARY_HEAP {
+        @Override
+        public <T> ExtrinsicMinPQ<T> create() {
+            return new ArrayHeapMinPQ<>(4);
+        }
+    },
+    EIGHT_ARY_HEAP {
+        @Override
+        public <T> ExtrinsicMinPQ<T> create() {
+            return new ArrayHeapMinPQ<>(8);
+        }
+    },
+    PAIRING_HEAP {
+        @Override
+        public <T> ExtrinsicMinPQ<T> create() {
+            return new PairingHeapMinPQ<>();
+        }
+    },
+    /**
+     * Monotone queues for non-negative integer priorities that never drop below the last removed
+     * one, as in Dijkstra's algorithm on integer weights: a bucket queue when the maximum edge
+     * weight is known and small, a radix heap otherwise. Non-integer priorities are rejected.
+     */
+    MONOTONE_INTEGER {
+        @Override
+        public <T> ExtrinsicMinPQ<T> create() {
+            return new RadixHeapMinPQ<>();
+        }
+
+        @Override
+        public <T> ExtrinsicMinPQ<T> create(int maxEdgeWeight) {
+            if (maxEdgeWeight <= MAX_BUCKET_QUEUE_WEIGHT) {
+                return new BucketMinPQ<>(maxEdgeWeight);
+            }
+            return new RadixHeapMinPQ<>();
+        }
+    };
+
+    // larger weight bounds use a radix heap instead of a bucket queue
+    private static final int MAX_BUCKET_QUEUE_WEIGHT = 1 << 16;
+
+    /**
+     * Returns a new, empty priority queue of this type.
+     */
+    public abstract <T> ExtrinsicMinPQ<T> create();
+
+    /**
+     * Returns a new, empty priority queue of this type for a search over a graph whose edge
+     * weights are integers no larger than the given bound. Only {@link #MONOTONE_INTEGER} uses the
+     * bound; every other type ignores it.
+     */
+    public <T> ExtrinsicMinPQ<T> create(int maxEdgeWeight) {
+        return create();
+    }
+}
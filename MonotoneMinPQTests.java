@@ -0,0 +1,92 @@
+package priorityqueues;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regression tests for the monotone integer queues: the floor below which priorities are rejected
+ * must be the last removed priority, and adding must never raise it.
+ */
+public class MonotoneMinPQTests {
+    // Dijkstra's pattern: pop the start, leaving the queue empty, then add its neighbors in any order
+    private static void popThenAddSmallerNeighbor(Supplier<ExtrinsicMinPQ<String>> queue) {
+        ExtrinsicMinPQ<String> pq = queue.get();
+        pq.add("start", 0);
+        assertEquals("start", pq.removeMin());
+        assertTrue(pq.isEmpty());
+
+        pq.add("far", 5);
+        pq.add("near", 2);
+        assertEquals("near", pq.removeMin());
+        pq.changePriority("far", 3);
+        pq.add("next", 4);
+        assertEquals("far", pq.removeMin());
+        assertEquals("next", pq.removeMin());
+        assertTrue(pq.isEmpty());
+    }
+
+    private static void rejectsBelowLastRemoved(Supplier<ExtrinsicMinPQ<String>> queue) {
+        ExtrinsicMinPQ<String> pq = queue.get();
+        pq.add("a", 3);
+        pq.add("b", 4);
+        assertEquals("a", pq.removeMin());
+        assertThrows(IllegalArgumentException.class, () -> pq.add("c", 2));
+        pq.add("c", 3);
+        assertEquals("c", pq.removeMin());
+    }
+
+    private static void addAfterPeekKeepsFloor(Supplier<ExtrinsicMinPQ<String>> queue) {
+        ExtrinsicMinPQ<String> pq = queue.get();
+        pq.add("start", 0);
+        pq.removeMin();
+        pq.add("far", 5);
+        assertEquals("far", pq.peekMin());
+        pq.add("near", 1);
+        assertEquals("near", pq.peekMin());
+        assertEquals("near", pq.removeMin());
+        assertEquals("far", pq.removeMin());
+    }
+
+    @Test
+    void bucketQueue_popThenAddSmallerNeighbor() {
+        popThenAddSmallerNeighbor(() -> new BucketMinPQ<>(10));
+    }
+
+    @Test
+    void radixHeap_popThenAddSmallerNeighbor() {
+        popThenAddSmallerNeighbor(RadixHeapMinPQ::new);
+    }
+
+    @Test
+    void bucketQueue_rejectsBelowLastRemoved() {
+        rejectsBelowLastRemoved(() -> new BucketMinPQ<>(10));
+    }
+
+    @Test
+    void radixHeap_rejectsBelowLastRemoved() {
+        rejectsBelowLastRemoved(RadixHeapMinPQ::new);
+    }
+
+    @Test
+    void bucketQueue_addAfterPeekKeepsFloor() {
+        addAfterPeekKeepsFloor(() -> new BucketMinPQ<>(10));
+    }
+
+    @Test
+    void radixHeap_addAfterPeekKeepsFloor() {
+        addAfterPeekKeepsFloor(RadixHeapMinPQ::new);
+    }
+
+    @Test
+    void bucketQueue_rejectsBeyondWindow() {
+        ExtrinsicMinPQ<String> pq = new BucketMinPQ<>(10);
+        pq.add("start", 0);
+        pq.removeMin();
+        assertThrows(IllegalArgumentException.class, () -> pq.add("far", 11));
+    }
+}
@@ -0,0 +1,181 @@
+package priorityqueues;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A pairing heap. {@code add} and decreasing {@code changePriority} are O(1) melds, which makes
+ * it a good fit for decrease-key-heavy workloads like Dijkstra on dense mazes; {@code removeMin}
+ * is amortized O(log n) using the standard two-pass pairing.
+ *
+ * @see ExtrinsicMinPQ
+ */
+public class PairingHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private Node<T> root;
+    private final Map<T, Node<T>> nodes;
+    // scratch space for the first pairing pass, reused across removals
+    private final List<Node<T>> pairs;
+
+    public PairingHeapMinPQ() {
+        this.root = null;
+        this.nodes = new HashMap<>();
+        this.pairs = new ArrayList<>();
+    }
+
+    // Adds an item with the given priority value.
+    @Override
+    public void add(T item, double priority) {
+        if (contains(item)) {
+            throw new IllegalArgumentException("This item already exists in priority queue");
+        }
+        Node<T> node = new Node<>(item, priority);
+        nodes.put(item, node);
+        root = meld(root, node);
+    }
+
+    // Returns true if the PQ contains the given item; false otherwise.
+    @Override
+    public boolean contains(T item) {
+        return nodes.containsKey(item);
+    }
+
+    // Returns the item with least-valued priority.
+    @Override
+    public T peekMin() {
+        if (root == null) {
+            throw new NoSuchElementException("Priority queue is empty.");
+        }
+        return root.item;
+    }
+
+    // Removes and returns the item with least-valued priority.
+    @Override
+    public T removeMin() {
+        if (root == null) {
+            throw new NoSuchElementException("Priority queue is empty.");
+        }
+        Node<T> min = root;
+        root = mergePairs(min.child);
+        min.child = null;
+        nodes.remove(min.item);
+        return min.item;
+    }
+
+    // Changes the priority of the given item.
+    @Override
+    public void changePriority(T item, double priority) {
+        Node<T> node = nodes.get(item);
+        if (node == null) {
+            throw new NoSuchElementException("Item does not exist in the priority queue.");
+        }
+        double oldPriority = node.priority;
+        node.priority = priority;
+        if (priority < oldPriority) {
+            // the node's subtree is still heap-ordered, so cut it off and meld it back in
+            if (node != root) {
+                cut(node);
+                root = meld(root, node);
+            }
+        } else if (priority > oldPriority) {
+            // the node may now be larger than its children: detach them and reinsert the node alone
+            if (node == root) {
+                root = mergePairs(node.child);
+            } else {
+                cut(node);
+                root = meld(root, mergePairs(node.child));
+            }
+            node.child = null;
+            root = meld(root, node);
+        }
+    }
+
+    // Returns the number of items in the PQ.
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    // Returns true if the PQ is empty, false otherwise.
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    // links two detached heaps, making the larger root the leftmost child of the smaller
+    private Node<T> meld(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (b.priority < a.priority) {
+            Node<T> temp = a;
+            a = b;
+            b = temp;
+        }
+        b.prev = a;
+        b.next = a.child;
+        if (a.child != null) {
+            a.child.prev = b;
+        }
+        a.child = b;
+        return a;
+    }
+
+    // detaches the given (non-root) node and its subtree from its parent and siblings
+    private void cut(Node<T> node) {
+        if (node.prev.child == node) {
+            // leftmost child: prev is the parent
+            node.prev.child = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    // standard two-pass pairing over a list of siblings: meld pairs left to right,
+    // then meld the results right to left. Iterative so long sibling lists can't overflow the stack.
+    private Node<T> mergePairs(Node<T> first) {
+        pairs.clear();
+        Node<T> current = first;
+        while (current != null) {
+            Node<T> a = current;
+            Node<T> b = a.next;
+            current = (b == null) ? null : b.next;
+            a.prev = null;
+            a.next = null;
+            if (b != null) {
+                b.prev = null;
+                b.next = null;
+            }
+            pairs.add(meld(a, b));
+        }
+        Node<T> result = null;
+        for (int i = pairs.size() - 1; i >= 0; i--) {
+            result = meld(pairs.get(i), result);
+        }
+        pairs.clear();
+        return result;
+    }
+
+    private static class Node<T> {
+        private final T item;
+        private double priority;
+        private Node<T> child;
+        private Node<T> next;
+        // the previous sibling, or the parent if this is the leftmost child
+        private Node<T> prev;
+
+        Node(T item, double priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A timed phase of an operation; its duration is the event's own.
+ *
+ * @see PhaseTimer
+ */
+@Name("mazes.Phase")
+@Label("Phase")
+@Category("Mazes")
+@Description("A timed phase of a maze, graph or data structure operation")
+class PhaseEvent extends Event {
+    @Label("Name")
+    String name;
+}
@@ -0,0 +1,47 @@
+package metrics;
+
+/**
+ * Times one phase of an operation, recording the duration in nanoseconds into a histogram and as
+ * a {@link PhaseEvent}.
+ *
+ * {@link #start(Histogram)} returns null when metrics are disabled, and {@link #stop(PhaseTimer)}
+ * ignores null, so call sites don't need to check {@link Metrics#ENABLED} themselves. A phase that
+ * throws is not recorded.
+ */
+public final class PhaseTimer {
+    private final Histogram histogram;
+    private final PhaseEvent event;
+    private final long startTime;
+
+    private PhaseTimer(Histogram histogram) {
+        this.histogram = histogram;
+        this.event = new PhaseEvent();
+        this.event.name = histogram.name();
+        this.event.begin();
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Starts timing a phase, or returns null if metrics are disabled.
+     */
+    public static PhaseTimer start(Histogram histogram) {
+        return Metrics.ENABLED ? new PhaseTimer(histogram) : null;
+    }
+
+    /**
+     * Stops the given timer and records its phase, or does nothing if it is null.
+     */
+    public static void stop(PhaseTimer timer) {
+        if (timer != null) {
+            timer.record();
+        }
+    }
+
+    private void record() {
+        histogram.record(System.nanoTime() - startTime);
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+}
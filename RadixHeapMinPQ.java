@@ -0,0 +1,193 @@
+package priorityqueues;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A monotone radix heap for non-negative integer priorities.
+ *
+ * Items are kept in 65 buckets keyed by the highest bit in which their priority differs from
+ * the last removed priority. Priorities may never drop below the last removed priority, which
+ * always holds for Dijkstra with non-negative weights. {@code add} and {@code changePriority}
+ * are O(1); {@code removeMin} is amortized O(log C) for a maximum priority C, since an item only
+ * ever moves into strictly lower buckets.
+ *
+ * @see ExtrinsicMinPQ
+ */
+public class RadixHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final Node<T>[] buckets;
+    private final Map<T, Node<T>> nodes;
+    // the last removed priority, or 0 before any removal; no item may go below it. Only
+    // removeMin moves it, so adding never raises the floor.
+    private long last;
+
+    @SuppressWarnings("unchecked")
+    public RadixHeapMinPQ() {
+        this.buckets = (Node<T>[]) new Node<?>[BUCKET_COUNT];
+        this.nodes = new HashMap<>();
+        this.last = 0;
+    }
+
+    /**
+     * Converts a priority to the integer key used by the monotone queues, rejecting anything that
+     * is negative or not a whole number.
+     */
+    static long toKey(double priority) {
+        if (!(priority >= 0) || priority != Math.floor(priority) || priority >= 0x1p63) {
+            throw new IllegalArgumentException("Priority must be a non-negative integer: " + priority);
+        }
+        return (long) priority;
+    }
+
+    // Adds an item with the given priority value.
+    @Override
+    public void add(T item, double priority) {
+        if (contains(item)) {
+            throw new IllegalArgumentException("This item already exists in priority queue");
+        }
+        long key = toKey(priority);
+        checkMonotone(key);
+        Node<T> node = new Node<>(item, key);
+        nodes.put(item, node);
+        link(node);
+    }
+
+    // Returns true if the PQ contains the given item; false otherwise.
+    @Override
+    public boolean contains(T item) {
+        return nodes.containsKey(item);
+    }
+
+    // Returns the item with least-valued priority.
+    @Override
+    public T peekMin() {
+        if (nodes.isEmpty()) {
+            throw new NoSuchElementException("Priority queue is empty.");
+        }
+        // find the minimum without redistributing, so that last stays the last removed priority
+        int index = 0;
+        while (buckets[index] == null) {
+            index++;
+        }
+        Node<T> min = buckets[index];
+        for (Node<T> node = min.next; node != null; node = node.next) {
+            if (node.key < min.key) {
+                min = node;
+            }
+        }
+        return min.item;
+    }
+
+    // Removes and returns the item with least-valued priority.
+    @Override
+    public T removeMin() {
+        refillBucketZero();
+        Node<T> min = buckets[0];
+        unlink(min);
+        nodes.remove(min.item);
+        return min.item;
+    }
+
+    // Changes the priority of the given item.
+    @Override
+    public void changePriority(T item, double priority) {
+        Node<T> node = nodes.get(item);
+        if (node == null) {
+            throw new NoSuchElementException("Item does not exist in the priority queue.");
+        }
+        long key = toKey(priority);
+        checkMonotone(key);
+        unlink(node);
+        node.key = key;
+        link(node);
+    }
+
+    // Returns the number of items in the PQ.
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    // Returns true if the PQ is empty, false otherwise.
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    // ensures bucket 0 (the items whose priority equals last) is non-empty by moving last up to
+    // the minimum of the first non-empty bucket and redistributing that bucket
+    private void refillBucketZero() {
+        if (nodes.isEmpty()) {
+            throw new NoSuchElementException("Priority queue is empty.");
+        }
+        if (buckets[0] != null) {
+            return;
+        }
+        int index = 1;
+        while (buckets[index] == null) {
+            index++;
+        }
+        long min = Long.MAX_VALUE;
+        for (Node<T> node = buckets[index]; node != null; node = node.next) {
+            min = Math.min(min, node.key);
+        }
+        last = min;
+        Node<T> node = buckets[index];
+        buckets[index] = null;
+        while (node != null) {
+            Node<T> next = node.next;
+            link(node);
+            node = next;
+        }
+    }
+
+    private void checkMonotone(long key) {
+        if (key < last) {
+            throw new IllegalArgumentException("Priority " + key + " is below the last removed priority " + last);
+        }
+    }
+
+    private int bucketIndex(long key) {
+        return key == last ? 0 : Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void link(Node<T> node) {
+        int index = bucketIndex(node.key);
+        node.bucket = index;
+        node.prev = null;
+        node.next = buckets[index];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[index] = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[node.bucket] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static class Node<T> {
+        private final T item;
+        private long key;
+        // the bucket this node is linked into; it can differ from bucketIndex(key) once last moves
+        private int bucket;
+        private Node<T> prev;
+        private Node<T> next;
+
+        Node(T item, long key) {
+            this.item = item;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package graphs.shortestpaths;
+
+import graphs.BaseEdge;
+import graphs.Graph;
+
+/**
+ * Helpers for walking undirected graphs backwards, where every edge u -> v is mirrored by an
+ * edge v -> u of the same weight in {@code outgoingEdgesFrom(v)}.
+ */
+final class ReverseEdges {
+    private ReverseEdges() {
+    }
+
+    /**
+     * Returns the lightest edge from {@code edge.to()} back to {@code edge.from()}.
+     *
+     * @throws IllegalArgumentException if the graph has no such edge, i.e. it is not undirected
+     */
+    static <V, E extends BaseEdge<V, E>> E reverseOf(Graph<V, E> graph, E edge) {
+        E reverse = null;
+        for (E candidate : graph.outgoingEdgesFrom(edge.to())) {
+            if (candidate.to().equals(edge.from()) && (reverse == null || candidate.weight() < reverse.weight())) {
+                reverse = candidate;
+            }
+        }
+        if (reverse == null) {
+            throw new IllegalArgumentException("Graph is not undirected: no edge from " + edge.to()
+                + " back to " + edge.from());
+        }
+        return reverse;
+    }
+}
@@ -0,0 +1,260 @@
+package maps;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An open-addressing hash map using Robin Hood linear probing and backward-shift deletion.
+ *
+ * Keys, values and cached hashes are stored in flat parallel arrays, so there are no per-entry
+ * objects and a lookup walks consecutive slots instead of chasing pointers. On insertion, an entry
+ * that is further from its home slot than the resident entry takes over that slot ("robs the
+ * rich"), which keeps probe lengths short and lets a failed lookup stop as soon as it meets an
+ * entry closer to home than itself. Removal shifts the following entries back a slot instead of
+ * leaving tombstones.
+ *
+ * Null keys and values are supported.
+ *
+ * @see AbstractIterableMap
+ * @see Map
+ */
+public class RobinHoodHashMap<K, V> extends AbstractIterableMap<K, V> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final double MAX_LOAD_FACTOR = 0.8;
+    // hashes[i] == EMPTY marks an unused slot; real hashes are never 0
+    private static final int EMPTY = 0;
+    // stands in for the null key, so that a null in keys[] can't be mistaken for a key
+    private static final Object NULL_KEY = new Object();
+
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int mask;
+    private int numElements;
+    private int resizeThreshold;
+
+    /**
+     * Constructs a new RobinHoodHashMap with default initial capacity.
+     */
+    public RobinHoodHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new RobinHoodHashMap with room for at least the given number of slots.
+     *
+     * @param initialCapacity the initial number of slots, rounded up to a power of two. Must be > 0.
+     */
+    public RobinHoodHashMap(int initialCapacity) {
+        if (initialCapacity <= 0 || initialCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid initial capacity: " + initialCapacity);
+        }
+        allocate(tableSizeFor(initialCapacity));
+    }
+
+    @Override
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            V oldValue = valueAt(index);
+            values[index] = value;
+            return oldValue;
+        }
+        if (numElements + 1 > resizeThreshold) {
+            resize();
+        }
+        insert(maskNull(key), value, hash(key));
+        numElements++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = valueAt(index);
+
+        // backward-shift deletion: pull every following displaced entry one slot closer to home
+        int next = (index + 1) & mask;
+        while (hashes[next] != EMPTY && probeDistance(next) > 0) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        hashes[index] = EMPTY;
+        numElements--;
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        Arrays.fill(hashes, EMPTY);
+        numElements = 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return numElements;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new RobinHoodIterator();
+    }
+
+    // returns the slot holding the given key, or -1 if there is none
+    private int indexOf(Object key) {
+        Object k = maskNull(key);
+        int hash = hash(key);
+        int index = hash & mask;
+        for (int dist = 0; ; dist++) {
+            if (hashes[index] == EMPTY || probeDistance(index) < dist) {
+                // had the key been here, it would have displaced this entry
+                return -1;
+            }
+            if (hashes[index] == hash && k.equals(keys[index])) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    // inserts an entry known not to be in the map, robbing slots from entries closer to home
+    private void insert(Object key, Object value, int hash) {
+        int index = hash & mask;
+        int dist = 0;
+        while (hashes[index] != EMPTY) {
+            int residentDist = probeDistance(index);
+            if (residentDist < dist) {
+                Object tempKey = keys[index];
+                Object tempValue = values[index];
+                int tempHash = hashes[index];
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                key = tempKey;
+                value = tempValue;
+                hash = tempHash;
+                dist = residentDist;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(oldHashes.length * 2);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                insert(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) Math.min(capacity - 1, (long) (capacity * MAX_LOAD_FACTOR));
+    }
+
+    // how many slots the entry at the given index sits past its home slot
+    private int probeDistance(int index) {
+        return (index - (hashes[index] & mask)) & mask;
+    }
+
+    // spreads the high bits of the hash code downward, since only the low bits pick a slot
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        return h == EMPTY ? 1 : h;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int index) {
+        return keys[index] == NULL_KEY ? null : (K) keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    private class RobinHoodIterator implements Iterator<Map.Entry<K, V>> {
+        private int index;
+
+        RobinHoodIterator() {
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index < hashes.length && hashes[index] == EMPTY) {
+                index++;
+            }
+            return index < hashes.length;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return new SlotEntry(index++);
+        }
+    }
+
+    // a view of one slot; setValue writes through to the map
+    private class SlotEntry extends SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        SlotEntry(int index) {
+            super(keyAt(index), valueAt(index));
+            this.index = index;
+        }
+
+        @Override
+        public V setValue(V value) {
+            values[index] = value;
+            return super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package maps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Randomized tests for {@link RobinHoodHashMap} against {@link java.util.HashMap}.
+ */
+public class RobinHoodHashMapTests {
+    // a key with a chosen hash code, so that tests can make keys collide or share a home slot
+    private static final class Key {
+        private final int id;
+        private final int hash;
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "Key(" + id + ", " + hash + ")";
+        }
+    }
+
+    private static void assertSameContents(Map<Key, Integer> expected, RobinHoodHashMap<Key, Integer> actual,
+                                           Key[] universe) {
+        assertEquals(expected.size(), actual.size());
+        for (Key key : universe) {
+            assertEquals(expected.get(key), actual.get(key));
+            assertEquals(expected.containsKey(key), actual.containsKey(key));
+        }
+        Map<Key, Integer> iterated = new HashMap<>();
+        for (Map.Entry<Key, Integer> entry : actual) {
+            assertNull(iterated.put(entry.getKey(), entry.getValue()), "Iterated twice over " + entry.getKey());
+        }
+        assertEquals(expected, iterated);
+    }
+
+    // keys drawn from a universe with only a few distinct hash codes, so that long probe runs form
+    // and removals shift many entries back; the map starts tiny, so it resizes repeatedly
+    private static void matchesHashMap(long seed, int distinctHashes) {
+        Random random = new Random(seed);
+        Key[] universe = new Key[400];
+        for (int i = 0; i < universe.length; i++) {
+            universe[i] = new Key(i, random.nextInt(distinctHashes));
+        }
+        Map<Key, Integer> expected = new HashMap<>();
+        RobinHoodHashMap<Key, Integer> actual = new RobinHoodHashMap<>(1);
+        for (int i = 0; i < 20000; i++) {
+            Key key = universe[random.nextInt(universe.length)];
+            // grow for the first half of the run, then shrink
+            if (random.nextInt(10) < (i < 10000 ? 7 : 3)) {
+                int value = random.nextInt();
+                assertEquals(expected.put(key, value), actual.put(key, value));
+            } else {
+                assertEquals(expected.remove(key), actual.remove(key));
+            }
+            assertEquals(expected.get(key), actual.get(key));
+            if (i % 1000 == 0) {
+                assertSameContents(expected, actual, universe);
+            }
+        }
+        assertSameContents(expected, actual, universe);
+    }
+
+    @Test
+    void randomOperations_matchHashMap() {
+        for (long seed = 0; seed < 10; seed++) {
+            matchesHashMap(seed, Integer.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void randomOperations_withCollidingKeys_matchHashMap() {
+        for (long seed = 0; seed < 10; seed++) {
+            matchesHashMap(seed, 8);
+        }
+    }
+
+    @Test
+    void backwardShiftDeletion_keepsDisplacedKeysReachable() {
+        // five keys homed at slot 1 and two at slot 2 of a 16-slot table, so they form one run
+        RobinHoodHashMap<Key, Integer> map = new RobinHoodHashMap<>(16);
+        Map<Key, Integer> expected = new HashMap<>();
+        Key[] keys = new Key[7];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Key(i, i < 5 ? 1 : 2);
+            map.put(keys[i], i);
+            expected.put(keys[i], i);
+        }
+        // removing from the front, middle and end of the run must leave the rest findable
+        for (int i : new int[] {0, 3, 6, 5}) {
+            assertEquals(i, map.remove(keys[i]));
+            expected.remove(keys[i]);
+            assertFalse(map.containsKey(keys[i]));
+            assertSameContents(expected, map, keys);
+        }
+        // a key homed inside the shifted run must still be found or rejected correctly
+        Key absent = new Key(100, 2);
+        assertNull(map.get(absent));
+        map.put(absent, 100);
+        assertEquals(100, map.get(absent));
+    }
+
+    @Test
+    void nullKeysAndValues() {
+        RobinHoodHashMap<String, String> map = new RobinHoodHashMap<>();
+        assertNull(map.put(null, "a"));
+        assertTrue(map.containsKey(null));
+        assertEquals("a", map.put(null, null));
+        assertTrue(map.containsKey(null));
+        assertNull(map.get(null));
+        map.put("b", "c");
+        assertNull(map.remove(null));
+        assertFalse(map.containsKey(null));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void entrySetValue_writesThrough() {
+        RobinHoodHashMap<Integer, Integer> map = new RobinHoodHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (Map.Entry<Integer, Integer> entry : map) {
+            entry.setValue(entry.getValue() * 2);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(2 * i, map.get(i));
+        }
+    }
+}
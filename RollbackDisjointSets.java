@@ -0,0 +1,241 @@
+package disjointsets;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A quick-union-by-size data structure whose operations can be undone.
+ *
+ * Every {@code makeSet} and successful {@code union} is recorded on a stack. {@link #checkpoint()}
+ * marks the current top of the stack, and {@link #rollback(int)} pops and reverses operations until
+ * the stack is back at a checkpoint, restoring the structure exactly as it was. This lets
+ * backtracking searches and interactive editors try out unions and take them back, and supports
+ * offline dynamic connectivity (answering connectivity queries over a sequence of edge insertions
+ * and deletions known in advance, by divide and conquer over time).
+ *
+ * Since a union only changes the two roots involved, undoing it is constant time. That rules out
+ * path compression, which would rewrite pointers all along the path, but union by size alone keeps
+ * every tree's height logarithmic, so {@code find} is still O(log n).
+ *
+ * As in {@link IntArrayDisjointSets}, callers with numbered elements can use the dense-id methods
+ * {@link #makeSets(int)}, {@link #find(int)} and {@link #union(int, int)}, which share one id space
+ * with the item-based methods.
+ *
+ * @see DisjointSets for more documentation.
+ */
+public class RollbackDisjointSets<T> implements DisjointSets<T> {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    // first word of a history entry for makeSets; the second word is the count
+    private static final int MAKE_SETS = -1;
+    // first word of a history entry for makeSet(item); the item is on addedItems
+    private static final int MAKE_ITEM_SET = -2;
+
+    // the parent of each id, or for roots, the negated size of the set
+    private int[] pointers;
+    private int size;
+    private int setCount;
+    // the undo stack, two words per operation: for a union, the id of the root that was linked
+    // under the other and its old (negated size) pointer; otherwise one of the markers above
+    private int[] history;
+    private int historySize;
+    private final Deque<T> addedItems;
+    private final Map<T, Integer> itemIndex;
+
+    public RollbackDisjointSets() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new, empty structure with room for the given number of elements before growing.
+     *
+     * @param initialCapacity Must be >= 0.
+     */
+    public RollbackDisjointSets(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.pointers = new int[initialCapacity];
+        this.size = 0;
+        this.setCount = 0;
+        this.history = new int[2 * DEFAULT_INITIAL_CAPACITY];
+        this.historySize = 0;
+        this.addedItems = new ArrayDeque<>();
+        this.itemIndex = new HashMap<>();
+    }
+
+    @Override
+    public void makeSet(T item) {
+        if (!itemIndex.containsKey(item)) {
+            int id = addSets(1);
+            itemIndex.put(item, id);
+            addedItems.push(item);
+            record(MAKE_ITEM_SET, id);
+        }
+    }
+
+    @Override
+    public int findSet(T item) {
+        return find(indexOf(item));
+    }
+
+    @Override
+    public boolean union(T item1, T item2) {
+        return union(indexOf(item1), indexOf(item2));
+    }
+
+    /**
+     * Adds {@code count} new singleton sets and returns the id of the first one; the rest follow
+     * consecutively.
+     */
+    public int makeSets(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be non-negative");
+        }
+        int first = addSets(count);
+        record(MAKE_SETS, count);
+        return first;
+    }
+
+    /**
+     * Returns the id of the representative of the set containing the given id.
+     */
+    public int find(int id) {
+        checkId(id);
+        // no path compression, so that unions stay undoable
+        while (pointers[id] >= 0) {
+            id = pointers[id];
+        }
+        return id;
+    }
+
+    /**
+     * Merges the sets containing the two given ids. Returns false if they were already in the same set.
+     */
+    public boolean union(int id1, int id2) {
+        int root1 = find(id1);
+        int root2 = find(id2);
+
+        if (root1 == root2) {
+            // Already in the same set; nothing to undo later
+            return false;
+        }
+
+        // Union by size; sizes are stored negated, so the smaller value is the bigger tree
+        if (pointers[root1] > pointers[root2]) {
+            int temp = root1;
+            root1 = root2;
+            root2 = temp;
+        }
+        record(root2, pointers[root2]);
+        pointers[root1] += pointers[root2];
+        pointers[root2] = root1;
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Returns true if the two ids are in the same set.
+     */
+    public boolean connected(int id1, int id2) {
+        return find(id1) == find(id2);
+    }
+
+    /**
+     * Returns a checkpoint that {@link #rollback(int)} can later return the structure to.
+     */
+    public int checkpoint() {
+        return historySize;
+    }
+
+    /**
+     * Undoes every {@code makeSet} and {@code union} since the given checkpoint was taken, most
+     * recent first. Checkpoints taken after the given one become invalid.
+     */
+    public void rollback(int checkpoint) {
+        if (checkpoint < 0 || checkpoint > historySize || checkpoint % 2 != 0) {
+            throw new IllegalArgumentException("Invalid checkpoint: " + checkpoint);
+        }
+        while (historySize > checkpoint) {
+            historySize -= 2;
+            int first = history[historySize];
+            int second = history[historySize + 1];
+            if (first == MAKE_SETS) {
+                size -= second;
+                setCount -= second;
+            } else if (first == MAKE_ITEM_SET) {
+                itemIndex.remove(addedItems.pop());
+                size--;
+                setCount--;
+            } else {
+                // first was linked under its parent, which gained first's old (negated) size
+                int parent = pointers[first];
+                pointers[parent] -= second;
+                pointers[first] = second;
+                setCount++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements (not sets) in this structure.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     */
+    public int setCount() {
+        return setCount;
+    }
+
+    private int addSets(int count) {
+        int first = size;
+        ensureCapacity(size + count);
+        // -1 --> element is a root and the size of its set is 1
+        Arrays.fill(pointers, first, first + count, -1);
+        size += count;
+        setCount += count;
+        return first;
+    }
+
+    private void record(int first, int second) {
+        if (historySize + 2 > history.length) {
+            if (history.length > Integer.MAX_VALUE / 2 - 8) {
+                throw new IllegalStateException("Too many operations since the first checkpoint");
+            }
+            history = Arrays.copyOf(history, 2 * history.length);
+        }
+        history[historySize] = first;
+        history[historySize + 1] = second;
+        historySize += 2;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity < 0 || capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many elements");
+        }
+        if (capacity > pointers.length) {
+            long newLength = Math.max(capacity, Math.max(DEFAULT_INITIAL_CAPACITY, 2L * pointers.length));
+            pointers = Arrays.copyOf(pointers, (int) Math.min(newLength, Integer.MAX_VALUE - 8));
+        }
+    }
+
+    private int indexOf(T item) {
+        Integer index = itemIndex.get(item);
+        if (index == null) {
+            throw new IllegalArgumentException(item + " does not exist.");
+        }
+        return index;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Id " + id + " does not exist.");
+        }
+    }
+}
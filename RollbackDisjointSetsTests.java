@@ -0,0 +1,183 @@
+package disjointsets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Randomized tests for {@link RollbackDisjointSets} against a naive structure that labels every
+ * id with its set and relabels a whole set on each union.
+ */
+public class RollbackDisjointSetsTests {
+    // the set label of each id, and the id of each item; copied whole at every checkpoint
+    private static final class NaiveSets {
+        private final List<Integer> labels = new ArrayList<>();
+        private final Map<String, Integer> items = new HashMap<>();
+
+        NaiveSets() {
+        }
+
+        NaiveSets(NaiveSets other) {
+            labels.addAll(other.labels);
+            items.putAll(other.items);
+        }
+
+        int add() {
+            labels.add(labels.size());
+            return labels.size() - 1;
+        }
+
+        boolean union(int id1, int id2) {
+            int label1 = labels.get(id1);
+            int label2 = labels.get(id2);
+            if (label1 == label2) {
+                return false;
+            }
+            for (int id = 0; id < labels.size(); id++) {
+                if (labels.get(id) == label2) {
+                    labels.set(id, label1);
+                }
+            }
+            return true;
+        }
+
+        int setCount() {
+            return new HashSet<>(labels).size();
+        }
+    }
+
+    private static void assertMatches(NaiveSets expected, RollbackDisjointSets<String> actual) {
+        assertEquals(expected.labels.size(), actual.size());
+        assertEquals(expected.setCount(), actual.setCount());
+        for (int id1 = 0; id1 < expected.labels.size(); id1++) {
+            for (int id2 = id1; id2 < expected.labels.size(); id2++) {
+                assertEquals(expected.labels.get(id1).equals(expected.labels.get(id2)), actual.connected(id1, id2));
+            }
+        }
+        for (Map.Entry<String, Integer> item : expected.items.entrySet()) {
+            assertEquals(actual.find(item.getValue()), actual.findSet(item.getKey()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> actual.find(expected.labels.size()));
+    }
+
+    // interleaves makeSet, makeSets, unions, nested checkpoints and rollbacks to any open checkpoint
+    private static void runRandomOperations(long seed) {
+        Random random = new Random(seed);
+        RollbackDisjointSets<String> sets = new RollbackDisjointSets<>(random.nextInt(4));
+        NaiveSets expected = new NaiveSets();
+        Deque<Integer> checkpoints = new ArrayDeque<>();
+        Deque<NaiveSets> snapshots = new ArrayDeque<>();
+        for (int i = 0; i < 300; i++) {
+            int operation = random.nextInt(10);
+            int size = expected.labels.size();
+            if (operation == 0 && size < 60) {
+                int count = random.nextInt(4);
+                int first = sets.makeSets(count);
+                assertEquals(size, first);
+                for (int j = 0; j < count; j++) {
+                    expected.add();
+                }
+            } else if (operation == 1 && size < 60) {
+                // item names repeat, so some of these are already present and must change nothing
+                String item = "item" + random.nextInt(30);
+                sets.makeSet(item);
+                if (!expected.items.containsKey(item)) {
+                    expected.items.put(item, expected.add());
+                }
+            } else if (operation <= 5 && size > 0) {
+                int id1 = random.nextInt(size);
+                int id2 = random.nextInt(size);
+                assertEquals(expected.union(id1, id2), sets.union(id1, id2));
+            } else if (operation <= 7) {
+                checkpoints.push(sets.checkpoint());
+                snapshots.push(new NaiveSets(expected));
+            } else if (!checkpoints.isEmpty()) {
+                // roll back to a random open checkpoint, discarding the ones taken after it
+                int depth = random.nextInt(checkpoints.size());
+                for (int j = 0; j < depth; j++) {
+                    checkpoints.pop();
+                    snapshots.pop();
+                }
+                sets.rollback(checkpoints.peek());
+                expected = new NaiveSets(snapshots.peek());
+                // the checkpoint stays valid, so a later rollback may return to it again
+            }
+            assertMatches(expected, sets);
+        }
+        while (!checkpoints.isEmpty()) {
+            sets.rollback(checkpoints.pop());
+            assertMatches(snapshots.pop(), sets);
+        }
+    }
+
+    @Test
+    void randomOperations_matchNaiveSets() {
+        for (long seed = 0; seed < 50; seed++) {
+            runRandomOperations(seed);
+        }
+    }
+
+    @Test
+    void rollback_undoesMakeSets() {
+        RollbackDisjointSets<String> sets = new RollbackDisjointSets<>();
+        sets.makeSets(3);
+        int checkpoint = sets.checkpoint();
+        assertEquals(3, sets.makeSets(5));
+        sets.union(0, 7);
+        sets.rollback(checkpoint);
+        assertEquals(3, sets.size());
+        assertEquals(3, sets.setCount());
+        assertFalse(sets.connected(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> sets.find(3));
+        // the ids are handed out again
+        assertEquals(3, sets.makeSets(1));
+    }
+
+    @Test
+    void rollback_undoesMakeSetOfItem() {
+        RollbackDisjointSets<String> sets = new RollbackDisjointSets<>();
+        sets.makeSet("a");
+        int checkpoint = sets.checkpoint();
+        sets.makeSet("b");
+        sets.makeSet("a");
+        sets.union("a", "b");
+        sets.rollback(checkpoint);
+        assertEquals(1, sets.size());
+        assertEquals(0, sets.findSet("a"));
+        assertThrows(IllegalArgumentException.class, () -> sets.findSet("b"));
+        // "b" can be added again, and gets the id it had before
+        sets.makeSet("b");
+        assertEquals(1, sets.findSet("b"));
+        assertFalse(sets.union("a", "a"));
+        assertTrue(sets.union("a", "b"));
+        assertEquals(1, sets.setCount());
+    }
+
+    @Test
+    void rollback_rejectsInvalidCheckpoints() {
+        RollbackDisjointSets<String> sets = new RollbackDisjointSets<>();
+        sets.makeSets(4);
+        int checkpoint = sets.checkpoint();
+        sets.union(0, 1);
+        assertThrows(IllegalArgumentException.class, () -> sets.rollback(-2));
+        assertThrows(IllegalArgumentException.class, () -> sets.rollback(checkpoint + 1));
+        assertThrows(IllegalArgumentException.class, () -> sets.rollback(sets.checkpoint() + 2));
+        // a checkpoint past the current history is invalid after rolling back below it
+        int later = sets.checkpoint();
+        sets.rollback(checkpoint);
+        assertThrows(IllegalArgumentException.class, () -> sets.rollback(later));
+        assertFalse(sets.connected(0, 1));
+    }
+}
@@ -0,0 +1,37 @@
+package mazes.logic;
+
+import mazes.entities.Room;
+
+import java.awt.Point;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * A* heuristics for {@link MazeGraph}s, based on the distance between room centers.
+ *
+ * @see graphs.shortestpaths.AStarShortestPathFinder
+ */
+public class RoomHeuristics {
+    private RoomHeuristics() {
+    }
+
+    /**
+     * Returns the straight-line distance between room centers. Admissible whenever each edge
+     * weighs at least the distance between its rooms' centers, as maze edges do.
+     */
+    public static ToDoubleBiFunction<Room, Room> euclidean() {
+        return (room, end) -> room.getCenter().distance(end.getCenter());
+    }
+
+    /**
+     * Returns the Manhattan distance between room centers. Only admissible for mazes whose rooms
+     * are connected along the x and y axes (e.g. rectangular grids); tighter than
+     * {@link #euclidean()} there, so it expands fewer rooms.
+     */
+    public static ToDoubleBiFunction<Room, Room> manhattan() {
+        return (room, end) -> {
+            Point a = room.getCenter();
+            Point b = end.getCenter();
+            return Math.abs(a.x - b.x) + Math.abs(a.y - b.y);
+        };
+    }
+}
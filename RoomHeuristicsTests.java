@@ -0,0 +1,121 @@
+package mazes.logic;
+
+import disjointsets.DisjointSets;
+import disjointsets.UnionBySizeCompressingDisjointSets;
+import graphs.EdgeWithData;
+import graphs.shortestpaths.AStarShortestPathFinder;
+import graphs.shortestpaths.DijkstraShortestPathFinder;
+import graphs.shortestpaths.DijkstraShortestPathFinder.ExpansionCounter;
+import graphs.shortestpaths.ShortestPath;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleBiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that A* with {@link RoomHeuristics} finds the same shortest paths as Dijkstra's algorithm
+ * on seeded grid mazes, without expanding more rooms.
+ */
+public class RoomHeuristicsTests {
+    private static final int SIDE = 40;
+    private static final int ROOM_SIZE = 10;
+
+    // a perfect maze carved with randomized Kruskal, plus a few extra passages so that paths differ
+    private static MazeGraph randomMaze(Room[] rooms, long seed) {
+        Random random = new Random(seed);
+        List<EdgeWithData<Room, Wall>> walls = new ArrayList<>();
+        for (int room = 0; room < rooms.length; room++) {
+            if (room % SIDE != SIDE - 1) {
+                walls.add(passage(rooms[room], rooms[room + 1]));
+            }
+            if (room + SIDE < rooms.length) {
+                walls.add(passage(rooms[room], rooms[room + SIDE]));
+            }
+        }
+        Collections.shuffle(walls, random);
+
+        DisjointSets<Room> components = new UnionBySizeCompressingDisjointSets<>();
+        for (Room room : rooms) {
+            components.makeSet(room);
+        }
+        List<EdgeWithData<Room, Wall>> passages = new ArrayList<>();
+        for (EdgeWithData<Room, Wall> wall : walls) {
+            if (components.union(wall.from(), wall.to()) || random.nextInt(10) == 0) {
+                passages.add(wall);
+            }
+        }
+        return new MazeGraph(passages);
+    }
+
+    // an edge between neighboring rooms, weighted by the distance between their centers
+    private static EdgeWithData<Room, Wall> passage(Room room1, Room room2) {
+        Point a = room1.getCenter();
+        Point b = room2.getCenter();
+        Wall wall = new Wall(room1, room2, new Line2D.Double(a, b));
+        return new EdgeWithData<>(room1, room2, a.distance(b), wall);
+    }
+
+    private static Room[] grid() {
+        Room[] rooms = new Room[SIDE * SIDE];
+        for (int i = 0; i < rooms.length; i++) {
+            int x = (i % SIDE) * ROOM_SIZE;
+            int y = (i / SIDE) * ROOM_SIZE;
+            Polygon square = new Polygon(new int[] {x, x + ROOM_SIZE, x + ROOM_SIZE, x},
+                new int[] {y, y, y + ROOM_SIZE, y + ROOM_SIZE}, 4);
+            rooms[i] = new Room(new Point(x + ROOM_SIZE / 2, y + ROOM_SIZE / 2), square);
+        }
+        return rooms;
+    }
+
+    private static double length(ShortestPath<Room, EdgeWithData<Room, Wall>> path) {
+        assertTrue(path.exists());
+        double total = 0;
+        for (EdgeWithData<Room, Wall> edge : path.edges()) {
+            total += edge.weight();
+        }
+        return total;
+    }
+
+    private static void assertNoMoreExpansionsThanDijkstra(ToDoubleBiFunction<Room, Room> heuristic) {
+        Room[] rooms = grid();
+        DijkstraShortestPathFinder<MazeGraph, Room, EdgeWithData<Room, Wall>> dijkstra =
+            new DijkstraShortestPathFinder<>();
+        AStarShortestPathFinder<MazeGraph, Room, EdgeWithData<Room, Wall>> aStar =
+            new AStarShortestPathFinder<>(heuristic);
+        for (long seed = 0; seed < 5; seed++) {
+            MazeGraph maze = randomMaze(rooms, seed);
+            Random random = new Random(seed);
+            for (int i = 0; i < 10; i++) {
+                Room start = rooms[random.nextInt(rooms.length)];
+                Room end = rooms[random.nextInt(rooms.length)];
+                ExpansionCounter dijkstraCount = new ExpansionCounter();
+                ExpansionCounter aStarCount = new ExpansionCounter();
+                double expected = length(dijkstra.findShortestPath(maze, start, end, dijkstraCount));
+                assertEquals(expected, length(aStar.findShortestPath(maze, start, end, aStarCount)), 1e-9);
+                assertTrue(aStarCount.count() <= dijkstraCount.count(),
+                    "A* expanded " + aStarCount.count() + " rooms, Dijkstra " + dijkstraCount.count());
+            }
+        }
+    }
+
+    @Test
+    void euclidean_expandsNoMoreThanDijkstra() {
+        assertNoMoreExpansionsThanDijkstra(RoomHeuristics.euclidean());
+    }
+
+    @Test
+    void manhattan_expandsNoMoreThanDijkstra() {
+        assertNoMoreExpansionsThanDijkstra(RoomHeuristics.manhattan());
+    }
+}
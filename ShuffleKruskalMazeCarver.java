@@ -0,0 +1,62 @@
+package mazes.logic.carvers;
+
+import disjointsets.IntArrayDisjointSets;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Carves out a maze based on Kruskal's algorithm, without building a graph.
+ *
+ * Giving every wall a random weight and taking a minimum spanning tree, as
+ * {@link KruskalMazeCarver} does, is the same as trying the walls in a uniformly random order. This
+ * carver produces that order directly with a seeded Fisher-Yates shuffle of the existing walls, and
+ * unions rooms in a disjoint set as it goes: no weights, edges, graph or sort. It stops as soon as
+ * every room is connected, after rooms - 1 walls have been removed.
+ *
+ * For a given seed and set of walls, the walls removed are always the same.
+ */
+public class ShuffleKruskalMazeCarver extends MazeCarver {
+    private final Random rand;
+
+    public ShuffleKruskalMazeCarver() {
+        this.rand = new Random();
+    }
+
+    public ShuffleKruskalMazeCarver(long seed) {
+        this.rand = new Random(seed);
+    }
+
+    @Override
+    protected Set<Wall> chooseWallsToRemove(Set<Wall> walls) {
+        Wall[] order = walls.toArray(new Wall[0]);
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            Wall temp = order[i];
+            order[i] = order[j];
+            order[j] = temp;
+        }
+
+        IntArrayDisjointSets<Room> rooms = new IntArrayDisjointSets<>();
+        for (Wall wall : order) {
+            rooms.makeSet(wall.getRoom1());
+            rooms.makeSet(wall.getRoom2());
+        }
+
+        // a spanning tree has one edge fewer than it has vertices
+        int needed = rooms.size() - 1;
+        Set<Wall> toRemove = new HashSet<>();
+        for (Wall wall : order) {
+            if (toRemove.size() == needed) {
+                break;
+            }
+            if (rooms.union(wall.getRoom1(), wall.getRoom2())) {
+                toRemove.add(wall);
+            }
+        }
+        return toRemove;
+    }
+}
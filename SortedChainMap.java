@@ -0,0 +1,130 @@
+package maps;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.StreamSupport;
+
+/**
+ * A chain for {@link ChainedHashMap} that keeps its entries in a balanced binary search tree,
+ * so lookups in an overfull chain take logarithmic instead of linear time.
+ *
+ * As in the tree bins of {@link java.util.HashMap}, the tree is ordered by hash code, and keys with
+ * equal hash codes are ordered by class and then, for {@link Comparable} keys of the same class, by
+ * {@code compareTo}. The ordering only narrows the search down, though: keys that tie under it
+ * (say, two keys whose {@code compareTo} is inconsistent with {@code equals}) share a node, which
+ * tells them apart with {@code equals}. So the chain keeps the {@link Map} contract for any keys,
+ * and only keys that tie all the way down are searched linearly.
+ *
+ * @see AbstractIterableMap
+ * @see Map
+ */
+public class SortedChainMap<K, V> extends AbstractIterableMap<K, V> {
+    // each node holds the entries whose keys tie under the tree's ordering
+    private final TreeMap<K, ArrayMap<K, V>> nodes;
+    private int size;
+
+    public SortedChainMap() {
+        this.nodes = new TreeMap<>(SortedChainMap::compareKeys);
+        this.size = 0;
+    }
+
+    /**
+     * Returns a sorted copy of the given chain.
+     */
+    public static <K, V> SortedChainMap<K, V> copyOf(AbstractIterableMap<K, V> chain) {
+        SortedChainMap<K, V> sorted = new SortedChainMap<>();
+        for (Map.Entry<K, V> entry : chain) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        return sorted;
+    }
+
+    @Override
+    public V get(Object key) {
+        ArrayMap<K, V> node = nodeOf(key);
+        return node == null ? null : node.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (key == null) {
+            return null;
+        }
+        ArrayMap<K, V> node = nodes.get(key);
+        if (node == null) {
+            node = new ArrayMap<>(1);
+            nodes.put(key, node);
+        }
+        int oldSize = node.size();
+        V oldValue = node.put(key, value);
+        size += node.size() - oldSize;
+        return oldValue;
+    }
+
+    @Override
+    public V remove(Object key) {
+        ArrayMap<K, V> node = nodeOf(key);
+        if (node == null || !node.containsKey(key)) {
+            return null;
+        }
+        V value = node.remove(key);
+        size--;
+        if (node.isEmpty()) {
+            nodes.remove(key);
+        } else if (!node.containsKey(nodes.ceilingKey(castKey(key)))) {
+            // the tree still refers to the removed key, so re-file the node under one it holds
+            nodes.remove(key);
+            nodes.put(node.iterator().next().getKey(), node);
+        }
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        nodes.clear();
+        size = 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        ArrayMap<K, V> node = nodeOf(key);
+        return node != null && node.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return nodes.values().stream()
+            .flatMap(node -> StreamSupport.stream(node.spliterator(), false))
+            .iterator();
+    }
+
+    private ArrayMap<K, V> nodeOf(Object key) {
+        return key == null ? null : nodes.get(key);
+    }
+
+    // only used to look up keys the tree already holds an equal key for
+    @SuppressWarnings("unchecked")
+    private K castKey(Object key) {
+        return (K) key;
+    }
+
+    // orders keys by hash code, then by class name, then by compareTo for Comparable keys of the
+    // same class; returns 0 for keys that tie under all three, whether or not they are equal
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareKeys(Object key1, Object key2) {
+        int result = Integer.compare(key1.hashCode(), key2.hashCode());
+        if (result == 0) {
+            result = key1.getClass().getName().compareTo(key2.getClass().getName());
+        }
+        if (result == 0 && key1.getClass() == key2.getClass() && key1 instanceof Comparable) {
+            result = ((Comparable) key1).compareTo(key2);
+        }
+        return result;
+    }
+}
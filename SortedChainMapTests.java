@@ -0,0 +1,93 @@
+package maps;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the sorted chains of {@link ChainedHashMap}, including keys whose {@code compareTo} is
+ * inconsistent with {@code equals}.
+ */
+public class SortedChainMapTests {
+    @Test
+    void keepsKeysThatCompareEqualButAreNotEqual() {
+        SortedChainMap<BigDecimal, String> map = new SortedChainMap<>();
+        map.put(new BigDecimal("1.0"), "a");
+        map.put(new BigDecimal("1"), "b");
+        assertEquals(2, map.size());
+        assertEquals("a", map.get(new BigDecimal("1.0")));
+        assertEquals("b", map.get(new BigDecimal("1")));
+    }
+
+    @Test
+    void tiedKeysAreMatchedByEquals() {
+        SortedChainMap<TiedKey, Integer> map = new SortedChainMap<>();
+        for (int i = 0; i < 100; i++) {
+            assertNull(map.put(new TiedKey(i), i));
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, (int) map.remove(new TiedKey(i)));
+        }
+        assertEquals(50, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(new TiedKey(i)));
+        }
+    }
+
+    @Test
+    void chainedHashMap_treeifiesCollidingKeys() {
+        ChainedHashMap<TiedKey, Integer> map = new ChainedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            map.put(new TiedKey(i), i);
+        }
+        assertTrue(map.chains[0] instanceof SortedChainMap);
+        assertEquals(200, map.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, (int) map.get(new TiedKey(i)));
+        }
+        map.put(new TiedKey(0), -1);
+        assertEquals(200, map.size());
+        assertEquals(-1, (int) map.get(new TiedKey(0)));
+    }
+
+    @Test
+    void chainedHashMap_doesNotTreeifyWellSpreadKeys() {
+        ChainedHashMap<Integer, Integer> map = new ChainedHashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i);
+        }
+        for (AbstractIterableMap<Integer, Integer> chain : map.chains) {
+            assertFalse(chain instanceof SortedChainMap);
+        }
+    }
+
+    // keys that all share a hash code and compare as equal, but are only equal to keys with the same id
+    private static class TiedKey implements Comparable<TiedKey> {
+        private final int id;
+
+        TiedKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(TiedKey other) {
+            return 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TiedKey && ((TiedKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
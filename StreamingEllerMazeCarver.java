@@ -0,0 +1,127 @@
+package mazes.logic.carvers;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Carves a rectangular grid maze one row at a time using Eller's algorithm.
+ *
+ * Only the current row is ever held in memory: a disjoint-set window over its columns records
+ * which cells are already connected (through earlier rows). For each row, the carver randomly
+ * joins neighboring cells from different sets, then carves at least one passage down from every
+ * set. The last row joins every remaining set, so the result is a perfect maze: exactly one path
+ * between any two cells. Removed walls are handed to a {@link WallSink} as soon as they are
+ * chosen, so a maze of any height takes O(width) memory and can be streamed straight to disk.
+ *
+ * Unlike {@link KruskalMazeCarver}, this does not extend {@link MazeCarver}: that class chooses
+ * from a fully built set of walls, which is exactly the memory cost this carver avoids. To carve
+ * a grid of rooms through the usual {@link MazeCarver} interface, use {@link EllerMazeCarver}.
+ */
+public class StreamingEllerMazeCarver {
+    /**
+     * A wall of a cell that can be removed: the one to its right, or the one below it.
+     */
+    public enum Side {
+        EAST, SOUTH
+    }
+
+    /**
+     * Receives walls as they are removed, in row-major order.
+     */
+    @FunctionalInterface
+    public interface WallSink {
+        void removeWall(long row, int column, Side side) throws IOException;
+    }
+
+    private final Random rand;
+
+    public StreamingEllerMazeCarver() {
+        this.rand = new Random();
+    }
+
+    public StreamingEllerMazeCarver(long seed) {
+        this.rand = new Random(seed);
+    }
+
+    /**
+     * Carves a maze of the given size, passing every removed wall to the sink.
+     *
+     * @param width the number of columns. Must be > 0.
+     * @param height the number of rows. Must be > 0.
+     * @throws IOException if the sink does
+     */
+    public void carve(int width, long height, WallSink sink) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid maze size");
+        }
+
+        // sets[c] labels the set of the cell in column c of the current row. Every label is the
+        // column of a cell in that set, and that cell's own label is itself.
+        int[] sets = new int[width];
+        for (int c = 0; c < width; c++) {
+            sets[c] = c;
+        }
+        // the disjoint-set window over the current row; roots are their own parent
+        int[] parents = new int[width];
+        // per root: the first column that carves down, and the set's last column
+        int[] firstDown = new int[width];
+        int[] lastColumn = new int[width];
+        boolean[] down = new boolean[width];
+
+        for (long row = 0; row < height; row++) {
+            boolean lastRow = row == height - 1;
+            System.arraycopy(sets, 0, parents, 0, width);
+
+            // join neighbors from different sets; on the last row, all of them
+            for (int c = 0; c + 1 < width; c++) {
+                int root1 = find(parents, c);
+                int root2 = find(parents, c + 1);
+                if (root1 != root2 && (lastRow || rand.nextBoolean())) {
+                    parents[root2] = root1;
+                    sink.removeWall(row, c, Side.EAST);
+                }
+            }
+            if (lastRow) {
+                break;
+            }
+
+            // choose passages down, then make sure every set has at least one
+            Arrays.fill(firstDown, -1);
+            for (int c = 0; c < width; c++) {
+                int root = find(parents, c);
+                down[c] = rand.nextBoolean();
+                if (down[c] && firstDown[root] == -1) {
+                    firstDown[root] = c;
+                }
+                lastColumn[root] = c;
+            }
+            for (int c = 0; c < width; c++) {
+                int root = find(parents, c);
+                if (firstDown[root] == -1 && lastColumn[root] == c) {
+                    down[c] = true;
+                    firstDown[root] = c;
+                }
+            }
+
+            // cells below a passage stay in their set; every other cell starts a new one
+            for (int c = 0; c < width; c++) {
+                if (down[c]) {
+                    sink.removeWall(row, c, Side.SOUTH);
+                    sets[c] = firstDown[find(parents, c)];
+                } else {
+                    sets[c] = c;
+                }
+            }
+        }
+    }
+
+    // finds the root of the given column with path halving
+    private static int find(int[] parents, int column) {
+        while (parents[column] != column) {
+            parents[column] = parents[parents[column]];
+            column = parents[column];
+        }
+        return column;
+    }
+}
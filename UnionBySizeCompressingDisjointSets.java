@@ -1,5 +1,8 @@
 package disjointsets;
 
+import metrics.Histogram;
+import metrics.Metrics;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -10,6 +13,10 @@ import java.util.Map;
  * @see DisjointSets for more documentation.
  */
 public class UnionBySizeCompressingDisjointSets<T> implements DisjointSets<T> {
+    // number of links followed to reach the root, before compression
+    private static final Histogram FIND_PATH_LENGTH =
+        Metrics.histogram("UnionBySizeCompressingDisjointSets.findPathLength");
+
     // Do NOT rename or delete this field. We will be inspecting it directly in our private tests.
     List<Integer> pointers;
 
@@ -41,8 +48,22 @@ public class UnionBySizeCompressingDisjointSets<T> implements DisjointSets<T> {
         if (!itemIndex.containsKey(item)) {
             throw new IllegalArgumentException(item + " does not exist.");
         }
+        int index = itemIndex.get(item);
+        if (Metrics.ENABLED) {
+            FIND_PATH_LENGTH.record(pathLength(index));
+        }
         // return index of representative
-        return findSet(itemIndex.get(item));
+        return findSet(index);
+    }
+
+    // number of links from the given index to its root
+    private int pathLength(int index) {
+        int length = 0;
+        while (pointers.get(index) >= 0) {
+            index = pointers.get(index);
+            length++;
+        }
+        return length;
     }
 
     // helper method --> finds the root of a set given an index
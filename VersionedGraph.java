@@ -0,0 +1,13 @@
+package graphs;
+
+/**
+ * A mutable graph that exposes a version number, so that anything derived from it (such as a
+ * cached shortest paths tree) can tell when it has gone stale.
+ */
+public interface VersionedGraph<V, E extends BaseEdge<V, E>> extends Graph<V, E> {
+    /**
+     * Returns a number that increases every time this graph's vertices, edges or edge weights
+     * change, so that a larger version is always the more recent one.
+     */
+    long version();
+}
@@ -0,0 +1,95 @@
+package mazes.logic;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A fixed-size bitset split into chunks of at most {@code CHUNK_WORDS} longs, each a
+ * {@link LongBuffer}: either a heap array or a region of a memory-mapped file.
+ *
+ * Java arrays and single mappings both stop at 2^31 elements or bytes, so chunking is what lets
+ * the walls of a maze grow past 2GB, on the heap or in a file.
+ */
+final class WallBits {
+    // 2^27 longs, or 1GB, per chunk
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK_WORDS = 1L << CHUNK_SHIFT;
+
+    private final LongBuffer[] chunks;
+    private final long words;
+
+    private WallBits(LongBuffer[] chunks, long words) {
+        this.chunks = chunks;
+        this.words = words;
+    }
+
+    /**
+     * Returns a new heap bitset of the given number of longs, with every bit set or clear.
+     */
+    static WallBits allocate(long words, boolean allSet) {
+        LongBuffer[] chunks = new LongBuffer[chunkCount(words)];
+        for (int i = 0; i < chunks.length; i++) {
+            long[] chunk = new long[chunkLength(words, i)];
+            if (allSet) {
+                Arrays.fill(chunk, -1L);
+            }
+            chunks[i] = LongBuffer.wrap(chunk);
+        }
+        return new WallBits(chunks, words);
+    }
+
+    /**
+     * Maps the given number of little-endian longs, starting at the given offset of the file. The
+     * mappings stay valid after the channel is closed.
+     */
+    static WallBits map(FileChannel channel, long offset, long words, FileChannel.MapMode mode) throws IOException {
+        LongBuffer[] chunks = new LongBuffer[chunkCount(words)];
+        for (int i = 0; i < chunks.length; i++) {
+            long position = offset + ((long) i << CHUNK_SHIFT) * Long.BYTES;
+            chunks[i] = channel.map(mode, position, (long) chunkLength(words, i) * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+        return new WallBits(chunks, words);
+    }
+
+    long words() {
+        return words;
+    }
+
+    long getWord(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & (CHUNK_WORDS - 1)));
+    }
+
+    boolean get(long bit) {
+        return (getWord(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    /**
+     * @throws java.nio.ReadOnlyBufferException if the bits are a read-only mapping
+     */
+    void set(long bit, boolean value) {
+        LongBuffer chunk = chunks[(int) (bit >>> (6 + CHUNK_SHIFT))];
+        int index = (int) ((bit >>> 6) & (CHUNK_WORDS - 1));
+        if (value) {
+            chunk.put(index, chunk.get(index) | (1L << bit));
+        } else {
+            chunk.put(index, chunk.get(index) & ~(1L << bit));
+        }
+    }
+
+    private static int chunkCount(long words) {
+        long count = (words + CHUNK_WORDS - 1) >>> CHUNK_SHIFT;
+        if (words < 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid bitset size: " + words + " words");
+        }
+        return (int) count;
+    }
+
+    // the number of longs in the given chunk; only the last one can be short
+    private static int chunkLength(long words, int chunk) {
+        return (int) Math.min(CHUNK_WORDS, words - ((long) chunk << CHUNK_SHIFT));
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import priorityqueues.ArrayHeapMinPQ;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills an {@link ArrayHeapMinPQ} with random priorities and drains it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrayHeapMinPQBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param("373")
+    public long seed;
+
+    private double[] priorities;
+    private double[] newPriorities;
+
+    @Setup
+    public void setUp() {
+        MazeGenerator generator = new MazeGenerator(seed);
+        priorities = generator.priorities(size);
+        newPriorities = generator.priorities(size);
+    }
+
+    @Benchmark
+    public void addThenRemoveAll(Blackhole blackhole) {
+        ArrayHeapMinPQ<Integer> queue = new ArrayHeapMinPQ<>();
+        for (int i = 0; i < size; i++) {
+            queue.add(i, priorities[i]);
+        }
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.removeMin());
+        }
+    }
+
+    @Benchmark
+    public void addChangeThenRemoveAll(Blackhole blackhole) {
+        ArrayHeapMinPQ<Integer> queue = new ArrayHeapMinPQ<>();
+        for (int i = 0; i < size; i++) {
+            queue.add(i, priorities[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            queue.changePriority(i, newPriorities[i]);
+        }
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.removeMin());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import graphs.Edge;
+import graphs.minspantrees.BoruvkaMinimumSpanningTreeFinder;
+import graphs.minspantrees.MinimumSpanningTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link BoruvkaMinimumSpanningTreeFinder} scales with the parallelism of its pool, on
+ * the same randomly weighted grids as {@link KruskalBenchmark}. Thread counts above the number of
+ * cores only show the cost of oversubscription; pass {@code -p threads=...} to match the machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoruvkaBenchmark {
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rooms;
+
+    @Param("373")
+    public long seed;
+
+    private MazeGenerator.GridGraph graph;
+    private ForkJoinPool pool;
+    private BoruvkaMinimumSpanningTreeFinder<MazeGenerator.GridGraph, Integer, Edge<Integer>> finder;
+
+    @Setup
+    public void setUp() {
+        graph = new MazeGenerator(seed).gridGraph(rooms, 1000);
+        pool = new ForkJoinPool(threads);
+        finder = new BoruvkaMinimumSpanningTreeFinder<>(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public MinimumSpanningTree<Integer, Edge<Integer>> findMinimumSpanningTree() {
+        return finder.findMinimumSpanningTree(graph);
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import maps.ChainedHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts random keys into a {@link ChainedHashMap}, resizing it along the way, and looks them up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChainedHashMapBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param("373")
+    public long seed;
+
+    private Integer[] keys;
+    private ChainedHashMap<Integer, Integer> filled;
+
+    @Setup
+    public void setUp() {
+        int[] ints = new MazeGenerator(seed).ints(size, Integer.MAX_VALUE);
+        keys = new Integer[size];
+        filled = new ChainedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = ints[i];
+            filled.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public ChainedHashMap<Integer, Integer> putAll() {
+        ChainedHashMap<Integer, Integer> map = new ChainedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void getAll(Blackhole blackhole) {
+        for (Integer key : keys) {
+            blackhole.consume(filled.get(key));
+        }
+    }
+}
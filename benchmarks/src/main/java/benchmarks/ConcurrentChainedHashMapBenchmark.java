@@ -0,0 +1,125 @@
+package benchmarks;
+
+import maps.ChainedHashMap;
+import maps.ConcurrentChainedHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Gets and puts random keys of a filled {@link ConcurrentChainedHashMap} from several threads at
+ * once, against {@link ConcurrentHashMap} and a synchronized {@link ChainedHashMap}. Each operation
+ * is one get or put; puts overwrite keys already in the map, so its size stays the same. Run with
+ * {@code -t} to change the thread count of {@code get} and {@code put}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentChainedHashMapBenchmark {
+    public enum MapType {
+        CONCURRENT_CHAINED(ConcurrentChainedHashMap::new),
+        CONCURRENT_HASH_MAP(ConcurrentHashMap::new),
+        SYNCHRONIZED_CHAINED(() -> Collections.synchronizedMap(new ChainedHashMap<>()));
+
+        private final Supplier<Map<Integer, Integer>> constructor;
+
+        MapType(Supplier<Map<Integer, Integer>> constructor) {
+            this.constructor = constructor;
+        }
+
+        public Map<Integer, Integer> create() {
+            return constructor.get();
+        }
+    }
+
+    @Param
+    public MapType type;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param("373")
+    public long seed;
+
+    private Integer[] keys;
+    private Map<Integer, Integer> map;
+    private final AtomicInteger cursors = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        int[] ints = new MazeGenerator(seed).ints(size, Integer.MAX_VALUE);
+        keys = new Integer[size];
+        map = type.create();
+        for (int i = 0; i < size; i++) {
+            keys[i] = ints[i];
+            map.put(keys[i], keys[i]);
+        }
+    }
+
+    /**
+     * The keys one thread visits, in its own random order.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private SplittableRandom random;
+
+        @Setup
+        public void setUp(ConcurrentChainedHashMapBenchmark benchmark) {
+            random = new SplittableRandom(benchmark.seed + benchmark.cursors.getAndIncrement());
+        }
+
+        Integer next(Integer[] keys) {
+            return keys[random.nextInt(keys.length)];
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer get(Cursor cursor) {
+        return map.get(cursor.next(keys));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer put(Cursor cursor) {
+        Integer key = cursor.next(keys);
+        return map.put(key, key);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Integer mixedGet(Cursor cursor) {
+        return map.get(cursor.next(keys));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Integer mixedPut(Cursor cursor) {
+        Integer key = cursor.next(keys);
+        return map.put(key, key);
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import graphs.Edge;
+import graphs.shortestpaths.DijkstraShortestPathFinder;
+import graphs.shortestpaths.ShortestPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the shortest path between opposite corners of a randomly weighted grid with
+ * {@link DijkstraShortestPathFinder}, which settles nearly every room on the way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DijkstraBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rooms;
+
+    @Param("373")
+    public long seed;
+
+    private MazeGenerator.GridGraph graph;
+    private DijkstraShortestPathFinder<MazeGenerator.GridGraph, Integer, Edge<Integer>> finder;
+
+    @Setup
+    public void setUp() {
+        graph = new MazeGenerator(seed).gridGraph(rooms, 10);
+        finder = new DijkstraShortestPathFinder<>();
+    }
+
+    @Benchmark
+    public ShortestPath<Integer, Edge<Integer>> findShortestPath() {
+        return finder.findShortestPath(graph, 0, graph.roomCount() - 1);
+    }
+}
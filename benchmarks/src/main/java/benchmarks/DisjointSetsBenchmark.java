@@ -0,0 +1,56 @@
+package benchmarks;
+
+import disjointsets.UnionBySizeCompressingDisjointSets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes singleton sets in a {@link UnionBySizeCompressingDisjointSets}, joins random pairs of
+ * them, then finds the set of every item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DisjointSetsBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param("373")
+    public long seed;
+
+    private int[] pairs;
+
+    @Setup
+    public void setUp() {
+        pairs = new MazeGenerator(seed).ints(2 * size, size);
+    }
+
+    @Benchmark
+    public void makeUnionFind(Blackhole blackhole) {
+        UnionBySizeCompressingDisjointSets<Integer> sets = new UnionBySizeCompressingDisjointSets<>();
+        for (int i = 0; i < size; i++) {
+            sets.makeSet(i);
+        }
+        for (int i = 0; i < pairs.length; i += 2) {
+            blackhole.consume(sets.union(pairs[i], pairs[i + 1]));
+        }
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(sets.findSet(i));
+        }
+    }
+}
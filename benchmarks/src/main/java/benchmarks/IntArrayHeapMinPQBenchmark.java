@@ -0,0 +1,94 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import priorityqueues.ArrayHeapMinPQ;
+import priorityqueues.DoubleMapMinPQ;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.IntArrayHeapMinPQ;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link IntArrayHeapMinPQ}, through its primitive and its boxed methods, with
+ * {@link ArrayHeapMinPQ} and {@link DoubleMapMinPQ} on a Dijkstra-like workload: add every id,
+ * lower every priority, then drain the queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntArrayHeapMinPQBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param("373")
+    public long seed;
+
+    private double[] priorities;
+    private double[] lowerPriorities;
+
+    @Setup
+    public void setUp() {
+        MazeGenerator generator = new MazeGenerator(seed);
+        priorities = generator.priorities(size);
+        double[] factors = generator.priorities(size);
+        lowerPriorities = new double[size];
+        for (int i = 0; i < size; i++) {
+            lowerPriorities[i] = priorities[i] * factors[i];
+        }
+    }
+
+    @Benchmark
+    public void intArrayHeap(Blackhole blackhole) {
+        IntArrayHeapMinPQ queue = new IntArrayHeapMinPQ(size);
+        for (int i = 0; i < size; i++) {
+            queue.add(i, priorities[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            queue.changePriority(i, lowerPriorities[i]);
+        }
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.removeMinId());
+        }
+    }
+
+    @Benchmark
+    public void intArrayHeapBoxed(Blackhole blackhole) {
+        run(new IntArrayHeapMinPQ(size), blackhole);
+    }
+
+    @Benchmark
+    public void arrayHeap(Blackhole blackhole) {
+        run(new ArrayHeapMinPQ<>(), blackhole);
+    }
+
+    @Benchmark
+    public void doubleMap(Blackhole blackhole) {
+        run(new DoubleMapMinPQ<>(), blackhole);
+    }
+
+    private void run(ExtrinsicMinPQ<Integer> queue, Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            queue.add(i, priorities[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            queue.changePriority(i, lowerPriorities[i]);
+        }
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.removeMin());
+        }
+    }
+}
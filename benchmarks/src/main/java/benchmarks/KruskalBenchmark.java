@@ -0,0 +1,49 @@
+package benchmarks;
+
+import graphs.Edge;
+import graphs.minspantrees.KruskalMinimumSpanningTreeFinder;
+import graphs.minspantrees.MinimumSpanningTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the minimum spanning tree of a randomly weighted grid with
+ * {@link KruskalMinimumSpanningTreeFinder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KruskalBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rooms;
+
+    @Param("373")
+    public long seed;
+
+    private MazeGenerator.GridGraph graph;
+
+    @Setup
+    public void setUp() {
+        graph = new MazeGenerator(seed).gridGraph(rooms, 1000);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree<Integer, Edge<Integer>> findMinimumSpanningTree() {
+        return new KruskalMinimumSpanningTreeFinder<MazeGenerator.GridGraph, Integer, Edge<Integer>>()
+            .findMinimumSpanningTree(graph);
+    }
+}
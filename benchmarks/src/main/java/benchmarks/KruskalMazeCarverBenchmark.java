@@ -0,0 +1,59 @@
+package benchmarks;
+
+import graphs.minspantrees.KruskalMinimumSpanningTreeFinder;
+import mazes.entities.Wall;
+import mazes.logic.carvers.KruskalMazeCarver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carves a maze out of a full grid of walls with {@link KruskalMazeCarver}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KruskalMazeCarverBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rooms;
+
+    @Param("373")
+    public long seed;
+
+    private Set<Wall> walls;
+
+    @Setup
+    public void setUp() {
+        walls = new MazeGenerator(seed).gridWalls(rooms);
+    }
+
+    @Benchmark
+    public Set<Wall> carve() {
+        return new Carver(seed).carve(walls);
+    }
+
+    // exposes the carving step without the rest of the maze application
+    private static class Carver extends KruskalMazeCarver {
+        Carver(long seed) {
+            super(new KruskalMinimumSpanningTreeFinder<>(), seed);
+        }
+
+        Set<Wall> carve(Set<Wall> walls) {
+            return chooseWallsToRemove(walls);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package benchmarks;
+
+import graphs.BoundedIntegerWeightGraph;
+import graphs.Edge;
+import graphs.KruskalGraph;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.geom.Line2D;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Builds seeded, reproducible inputs for the benchmarks: the same size and seed always give the
+ * same rooms, walls and edge weights, so results can be compared between runs and machines.
+ *
+ * Each input draws from its own {@link SplittableRandom}, split off a master one seeded with the
+ * given seed, so adding a new kind of input never changes the ones generated before it.
+ */
+public final class MazeGenerator {
+    private static final int ROOM_SIZE = 10;
+
+    private final SplittableRandom master;
+
+    public MazeGenerator(long seed) {
+        this.master = new SplittableRandom(seed);
+    }
+
+    /**
+     * Returns the width of the most nearly square grid with at least the given number of rooms.
+     */
+    public static int gridWidth(int rooms) {
+        return (int) Math.ceil(Math.sqrt(rooms));
+    }
+
+    /**
+     * Returns the walls between every pair of neighboring rooms of a grid with at least the given
+     * number of rooms, as a maze carver starts from.
+     */
+    public Set<Wall> gridWalls(int rooms) {
+        int width = gridWidth(rooms);
+        int height = (rooms + width - 1) / width;
+        Room[] grid = new Room[width * height];
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                int x = column * ROOM_SIZE;
+                int y = row * ROOM_SIZE;
+                Polygon square = new Polygon(new int[] {x, x + ROOM_SIZE, x + ROOM_SIZE, x},
+                    new int[] {y, y, y + ROOM_SIZE, y + ROOM_SIZE}, 4);
+                grid[row * width + column] = new Room(new Point(x + ROOM_SIZE / 2, y + ROOM_SIZE / 2), square);
+            }
+        }
+
+        Set<Wall> walls = new HashSet<>();
+        for (int room = 0; room < grid.length; room++) {
+            int x = (room % width) * ROOM_SIZE;
+            int y = (room / width) * ROOM_SIZE;
+            if (room % width != width - 1) {
+                walls.add(new Wall(grid[room], grid[room + 1],
+                    new Line2D.Double(x + ROOM_SIZE, y, x + ROOM_SIZE, y + ROOM_SIZE)));
+            }
+            if (room + width < grid.length) {
+                walls.add(new Wall(grid[room], grid[room + width],
+                    new Line2D.Double(x, y + ROOM_SIZE, x + ROOM_SIZE, y + ROOM_SIZE)));
+            }
+        }
+        return walls;
+    }
+
+    /**
+     * Returns a grid graph with at least the given number of rooms, where every pair of neighboring
+     * rooms is joined by an edge with a random integer weight between 1 and {@code maxWeight}.
+     */
+    public GridGraph gridGraph(int rooms, int maxWeight) {
+        int width = gridWidth(rooms);
+        int height = (rooms + width - 1) / width;
+        SplittableRandom random = master.split();
+        int[] eastWeights = new int[width * height];
+        int[] southWeights = new int[width * height];
+        for (int room = 0; room < eastWeights.length; room++) {
+            eastWeights[room] = 1 + random.nextInt(maxWeight);
+            southWeights[room] = 1 + random.nextInt(maxWeight);
+        }
+        return new GridGraph(width, height, maxWeight, eastWeights, southWeights);
+    }
+
+    /**
+     * Returns the given number of random doubles in [0, 1), for use as priorities.
+     */
+    public double[] priorities(int count) {
+        return master.split().doubles(count).toArray();
+    }
+
+    /**
+     * Returns the given number of random ints in [0, bound), for use as keys or item ids.
+     */
+    public int[] ints(int count, int bound) {
+        return master.split().ints(count, 0, bound).toArray();
+    }
+
+    /**
+     * A width x height grid of rooms numbered {@code row * width + column}. Only the weights are
+     * stored; edges are created as they are asked for, so that grids of 10^7 rooms fit in memory.
+     */
+    public static final class GridGraph implements KruskalGraph<Integer, Edge<Integer>>,
+        BoundedIntegerWeightGraph<Integer, Edge<Integer>> {
+        private final int width;
+        private final int height;
+        private final int maxWeight;
+        private final int[] eastWeights;
+        private final int[] southWeights;
+
+        GridGraph(int width, int height, int maxWeight, int[] eastWeights, int[] southWeights) {
+            this.width = width;
+            this.height = height;
+            this.maxWeight = maxWeight;
+            this.eastWeights = eastWeights;
+            this.southWeights = southWeights;
+        }
+
+        public int roomCount() {
+            return width * height;
+        }
+
+        @Override
+        public Collection<Edge<Integer>> outgoingEdgesFrom(Integer vertex) {
+            int room = vertex;
+            List<Edge<Integer>> edges = new ArrayList<>(4);
+            if (room % width != width - 1) {
+                edges.add(new Edge<>(room, room + 1, eastWeights[room]));
+            }
+            if (room + width < roomCount()) {
+                edges.add(new Edge<>(room, room + width, southWeights[room]));
+            }
+            if (room % width != 0) {
+                edges.add(new Edge<>(room, room - 1, eastWeights[room - 1]));
+            }
+            if (room >= width) {
+                edges.add(new Edge<>(room, room - width, southWeights[room - width]));
+            }
+            return edges;
+        }
+
+        @Override
+        public int maxEdgeWeight() {
+            return maxWeight;
+        }
+
+        @Override
+        public Collection<Integer> allVertices() {
+            return new AbstractList<Integer>() {
+                @Override
+                public Integer get(int index) {
+                    return index;
+                }
+
+                @Override
+                public int size() {
+                    return roomCount();
+                }
+            };
+        }
+
+        @Override
+        public Collection<Edge<Integer>> allEdges() {
+            List<Edge<Integer>> edges = new ArrayList<>(2 * roomCount());
+            for (int room = 0; room < roomCount(); room++) {
+                if (room % width != width - 1) {
+                    edges.add(new Edge<>(room, room + 1, eastWeights[room]));
+                }
+                if (room + width < roomCount()) {
+                    edges.add(new Edge<>(room, room + width, southWeights[room]));
+                }
+            }
+            return edges;
+        }
+    }
+}
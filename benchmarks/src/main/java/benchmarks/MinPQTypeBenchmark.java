@@ -0,0 +1,80 @@
+package benchmarks;
+
+import graphs.Edge;
+import graphs.shortestpaths.DijkstraShortestPathFinder;
+import graphs.shortestpaths.ShortestPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import priorityqueues.ExtrinsicMinPQ;
+import priorityqueues.MinPQType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares every {@link MinPQType}, on its own and inside {@link DijkstraShortestPathFinder}.
+ *
+ * Priorities are integers, so that {@link MinPQType#MONOTONE_INTEGER} can take part.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MinPQTypeBenchmark {
+    // every type when left empty
+    @Param
+    public MinPQType type;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param("373")
+    public long seed;
+
+    private int[] priorities;
+    private int[] lowerPriorities;
+    private MazeGenerator.GridGraph graph;
+    private DijkstraShortestPathFinder<MazeGenerator.GridGraph, Integer, Edge<Integer>> finder;
+
+    @Setup
+    public void setUp() {
+        MazeGenerator generator = new MazeGenerator(seed);
+        priorities = generator.ints(size, size);
+        lowerPriorities = generator.ints(size, size);
+        for (int i = 0; i < size; i++) {
+            lowerPriorities[i] = Math.min(priorities[i], lowerPriorities[i]);
+        }
+        graph = generator.gridGraph(size, 10);
+        finder = new DijkstraShortestPathFinder<>(type);
+    }
+
+    @Benchmark
+    public void addChangeThenRemoveAll(Blackhole blackhole) {
+        ExtrinsicMinPQ<Integer> queue = type.create();
+        for (int i = 0; i < size; i++) {
+            queue.add(i, priorities[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            queue.changePriority(i, lowerPriorities[i]);
+        }
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.removeMin());
+        }
+    }
+
+    @Benchmark
+    public ShortestPath<Integer, Edge<Integer>> dijkstra() {
+        return finder.findShortestPath(graph, 0, graph.roomCount() - 1);
+    }
+}
@@ -0,0 +1,143 @@
+package benchmarks;
+
+import maps.ChainedHashMap;
+import maps.RobinHoodHashMap;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Puts random keys into a {@link RobinHoodHashMap} or a {@link ChainedHashMap} and looks them up,
+ * both for keys in the map and for keys that are not. The {@code footprint} benchmark reports the
+ * heap each map retains per entry, keys and values excluded, as the {@code bytesPerEntry} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RobinHoodHashMapBenchmark {
+    public enum MapType {
+        ROBIN_HOOD(RobinHoodHashMap::new),
+        CHAINED(ChainedHashMap::new);
+
+        private final Supplier<Map<Integer, Integer>> constructor;
+
+        MapType(Supplier<Map<Integer, Integer>> constructor) {
+            this.constructor = constructor;
+        }
+
+        public Map<Integer, Integer> create() {
+            return constructor.get();
+        }
+    }
+
+    @Param
+    public MapType type;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param("373")
+    public long seed;
+
+    private Integer[] keys;
+    private Integer[] missingKeys;
+    private Map<Integer, Integer> filled;
+
+    @Setup
+    public void setUp() {
+        // even keys go in the map and odd keys miss, so the two sets never overlap
+        int[] ints = new MazeGenerator(seed).ints(2 * size, Integer.MAX_VALUE / 2);
+        keys = new Integer[size];
+        missingKeys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = 2 * ints[i];
+            missingKeys[i] = 2 * ints[size + i] + 1;
+        }
+        filled = putAll(type, keys);
+    }
+
+    private static Map<Integer, Integer> putAll(MapType type, Integer[] keys) {
+        // each key is its own value, so that no boxed values are allocated along with the map
+        Map<Integer, Integer> map = type.create();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> putAll() {
+        return putAll(type, keys);
+    }
+
+    @Benchmark
+    public void getAll(Blackhole blackhole) {
+        for (Integer key : keys) {
+            blackhole.consume(filled.get(key));
+        }
+    }
+
+    @Benchmark
+    public void getMissing(Blackhole blackhole) {
+        for (Integer key : missingKeys) {
+            blackhole.consume(filled.get(key));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Map<Integer, Integer> footprint(Footprint footprint) {
+        // JMH zeroes aux counters after the iteration setup, so the measurement is reported here
+        footprint.bytesPerEntry = footprint.measured;
+        return footprint.map;
+    }
+
+    /**
+     * Measures the heap a filled map retains, once per iteration, from the used heap before and
+     * after building it. The keys and values are allocated up front, so only the map's own tables
+     * and nodes are counted.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double bytesPerEntry;
+
+        private double measured;
+        private Map<Integer, Integer> map;
+
+        @Setup(Level.Iteration)
+        public void measure(RobinHoodHashMapBenchmark benchmark) {
+            map = null;
+            long before = usedHeap();
+            map = putAll(benchmark.type, benchmark.keys);
+            long after = usedHeap();
+            measured = (double) (after - before) / benchmark.size;
+        }
+
+        private static long usedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}